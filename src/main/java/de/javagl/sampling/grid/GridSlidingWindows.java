@@ -0,0 +1,147 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.grid;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Methods to create streams of lists that are two-dimensional sliding
+ * window views on grids. The grids are given as lists that contain the
+ * grid elements in row-major order. (Arrays may be passed to these methods
+ * as a list with <code>Arrays.asList(array)</code>, which does not copy
+ * the array).
+ */
+public class GridSlidingWindows
+{
+    /**
+     * Create a stream that contains lists that are a two-dimensional
+     * sliding window over the given grid. The lists will be returned in
+     * form of unmodifiable lists, which contain the elements of the
+     * respective window in row-major order.<br>
+     * <br>
+     * The windows will cover the <i>closed</i> range of the grid. This
+     * means that the first window starts at the upper left corner of the
+     * grid, and all windows are completely contained in the grid. The
+     * windows will be provided in row-major order of their positions.
+     * If the window is larger than the grid, then the stream will be
+     * empty.<br>
+     * <br>
+     * For example, for a 4x3 grid, with a window size of 2x2 and
+     * a stride of (2,1), the windows will be
+     * <pre><code>
+     * input   :  [ 0,  1,  2,  3,
+     *              4,  5,  6,  7,
+     *              8,  9, 10, 11 ]
+     * output  :
+     *            [ 0,  1,  4,  5 ]
+     *            [ 2,  3,  6,  7 ]
+     *            [ 4,  5,  8,  9 ]
+     *            [ 6,  7, 10, 11 ]
+     * </code></pre>
+     * <br>
+     * The windows are views on the input list, which only perform index
+     * computations. The returned stream has a known size, and may
+     * efficiently be processed in parallel.<br>
+     * <br>
+     * If the given list is modified after the stream has been created,
+     * the behavior of the stream is unspecified.<br>
+     * <br>
+     * If the given list is modified after the windows have been obtained
+     * from the stream, the behavior of the windows is unspecified.<br>
+     * <br>
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list, containing the grid in row-major order
+     * @param width The width of the grid
+     * @param height The height of the grid
+     * @param windowWidth The width of the windows
+     * @param windowHeight The height of the windows
+     * @param strideX The horizontal step size
+     * @param strideY The vertical step size
+     * @return The stream
+     * @throws IllegalArgumentException If any size or stride is not
+     * positive, or the size of the list is not <code>width*height</code>
+     */
+    public static <T> Stream<List<T>> createSlidingWindow(
+        List<? extends T> input, int width, int height,
+        int windowWidth, int windowHeight, int strideX, int strideY)
+    {
+        GridView.validateGrid(input, width, height);
+        if (windowWidth <= 0 || windowHeight <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The window size must be positive, but is "
+                + windowWidth + "x" + windowHeight);
+        }
+        if (strideX <= 0 || strideY <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The stride must be positive, but is "
+                + "(" + strideX + "," + strideY + ")");
+        }
+        int numX = computeNumWindows(width, windowWidth, strideX);
+        int numY = computeNumWindows(height, windowHeight, strideY);
+        return IntStream.range(0, numX * numY).mapToObj(i ->
+        {
+            int y = (i / numX) * strideY;
+            int x = (i % numX) * strideX;
+            int offset = y * width + x;
+            return GridView.create(
+                input, offset, windowWidth, windowHeight, width);
+        });
+    }
+
+    /**
+     * Computes the number of windows with the given size that fit into
+     * the given size when they are moved with the given step size
+     *
+     * @param size The size
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @return The number of windows
+     */
+    private static int computeNumWindows(
+        int size, int windowSize, int stepSize)
+    {
+        if (windowSize > size)
+        {
+            return 0;
+        }
+        return (size - windowSize) / stepSize + 1;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private GridSlidingWindows()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
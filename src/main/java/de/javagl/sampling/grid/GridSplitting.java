@@ -0,0 +1,191 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.grid;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import de.javagl.sampling.list.ChunkPartition;
+
+/**
+ * Methods to split grids into tiles. The grids are given as lists that
+ * contain the grid elements in row-major order. The tiles are views on
+ * rectangular regions of the grid.
+ */
+public class GridSplitting
+{
+    /**
+     * Creates a stream that provides the tiles of the given grid, in
+     * form of unmodifiable lists that contain the elements of the
+     * respective tile in row-major order. The tiles will be provided in
+     * row-major order of their positions.<br>
+     * <br>
+     * The grid will be divided into <code>numTilesX</code> columns and
+     * <code>numTilesY</code> rows of tiles, in the same way as the
+     * <code>ListSplitting</code> class divides a list into chunks: When the
+     * width is not divisible by the number of columns, then the last
+     * columns will be one element narrower than the first ones, and
+     * similarly for the rows.<br>
+     * <br>
+     * The returned stream has a known size, and may efficiently be
+     * processed in parallel.<br>
+     * <br>
+     * If the given list is modified after this stream has been created,
+     * the behavior of the stream is unspecified.<br>
+     * <br>
+     * If the given list is modified after the tiles have been obtained
+     * from the stream, the behavior of the tiles is unspecified.<br>
+     * <br>
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list, containing the grid in row-major order
+     * @param width The width of the grid
+     * @param height The height of the grid
+     * @param numTilesX The number of tiles in x-direction
+     * @param numTilesY The number of tiles in y-direction
+     * @return The stream
+     * @throws IllegalArgumentException If the width or height is not
+     * positive, the size of the list is not <code>width*height</code>,
+     * the number of tiles is smaller than 1 in any direction, or the 
+     * total number of tiles is larger than <code>Integer.MAX_VALUE</code>
+     */
+    public static <T> Stream<List<T>> extractTiles(
+        List<? extends T> input, int width, int height,
+        int numTilesX, int numTilesY)
+    {
+        GridView.validateGrid(input, width, height);
+        validateNumTiles(numTilesX, numTilesY);
+        ChunkPartition columns = new ChunkPartition(width, numTilesX);
+        ChunkPartition rows = new ChunkPartition(height, numTilesY);
+        return IntStream.range(0, numTilesX * numTilesY).mapToObj(i ->
+            createTile(input, width, columns, rows,
+                i % numTilesX, i / numTilesX));
+    }
+
+    /**
+     * Virtually splits the given grid into the given number of tiles, and
+     * returns an unmodifiable view on the tile with the given index.
+     * The view will contain the elements of the tile in row-major order.<br>
+     * <br>
+     * See {@link #extractTiles(List, int, int, int, int)} for details.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list, containing the grid in row-major order
+     * @param width The width of the grid
+     * @param height The height of the grid
+     * @param numTilesX The number of tiles in x-direction
+     * @param numTilesY The number of tiles in y-direction
+     * @param tileX The x-index of the tile
+     * @param tileY The y-index of the tile
+     * @return The view on the tile
+     * @throws IllegalArgumentException If the width or height is not
+     * positive, the size of the list is not <code>width*height</code>,
+     * the number of tiles is smaller than 1 in any direction, or the tile
+     * index is negative or not smaller than the number of tiles in
+     * any direction
+     */
+    public static <T> List<T> extractTile(
+        List<? extends T> input, int width, int height,
+        int numTilesX, int numTilesY, int tileX, int tileY)
+    {
+        GridView.validateGrid(input, width, height);
+        validateNumTiles(numTilesX, numTilesY);
+        if (tileX < 0 || tileX >= numTilesX || 
+            tileY < 0 || tileY >= numTilesY)
+        {
+            throw new IllegalArgumentException(
+                "The tile index is (" + tileX + "," + tileY + "), "
+                + "but must be in [0,0]-(" + numTilesX + "," + numTilesY
+                + ")");
+        }
+        ChunkPartition columns = new ChunkPartition(width, numTilesX);
+        ChunkPartition rows = new ChunkPartition(height, numTilesY);
+        return createTile(input, width, columns, rows, tileX, tileY);
+    }
+
+    /**
+     * Creates the view on the specified tile. The parameters are assumed
+     * to be valid.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list, containing the grid in row-major order
+     * @param width The width of the grid
+     * @param columns The partition of the grid width into tile columns
+     * @param rows The partition of the grid height into tile rows
+     * @param tileX The x-index of the tile
+     * @param tileY The y-index of the tile
+     * @return The view on the tile
+     */
+    private static <T> List<T> createTile(
+        List<? extends T> input, int width, 
+        ChunkPartition columns, ChunkPartition rows, int tileX, int tileY)
+    {
+        int minX = columns.getFromIndex(tileX);
+        int minY = rows.getFromIndex(tileY);
+        int offset = minY * width + minX;
+        return GridView.create(input, offset, 
+            columns.getChunkSize(tileX), rows.getChunkSize(tileY), width);
+    }
+
+    /**
+     * Validates the given number of tiles
+     *
+     * @param numTilesX The number of tiles in x-direction
+     * @param numTilesY The number of tiles in y-direction
+     * @throws IllegalArgumentException If the number of tiles is smaller
+     * than 1 in any direction, or the total number of tiles is larger
+     * than <code>Integer.MAX_VALUE</code>
+     */
+    private static void validateNumTiles(int numTilesX, int numTilesY)
+    {
+        if (numTilesX < 1 || numTilesY < 1)
+        {
+            throw new IllegalArgumentException(
+                "The number of tiles must be at least 1x1, but is "
+                + numTilesX + "x" + numTilesY);
+        }
+        if ((long)numTilesX * numTilesY > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(
+                "The total number of tiles must be at most " 
+                + Integer.MAX_VALUE + ", but is " 
+                + numTilesX + "x" + numTilesY);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private GridSplitting()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
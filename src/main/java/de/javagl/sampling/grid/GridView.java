@@ -0,0 +1,346 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.grid;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of an unmodifiable view on a rectangular region of a
+ * two-dimensional grid that is stored in row-major order in a list. The
+ * view itself provides the elements of the region in row-major order.<br>
+ * <br>
+ * Instances are created with the {@link #create} method, which returns 
+ * a view that implements the <code>RandomAccess</code> interface if and
+ * only if the backing list implements it. For such views, the bulk
+ * <code>toArray</code> and <code>forEach</code> methods access the 
+ * rows of the region directly, and the spliterator has a known size, 
+ * and can be split efficiently.
+ *
+ * @param <T> The element type
+ */
+class GridView<T> extends AbstractList<T>
+{
+    /**
+     * The backing list
+     */
+    private final List<? extends T> input;
+
+    /**
+     * The index of the first element of this view in the backing list
+     */
+    private final int offset;
+
+    /**
+     * The width of this view
+     */
+    private final int width;
+
+    /**
+     * The height of this view
+     */
+    private final int height;
+
+    /**
+     * The distance between two rows in the backing list
+     */
+    private final int rowStride;
+
+    /**
+     * Creates a new instance
+     *
+     * @param input The backing list
+     * @param offset The index of the first element in the backing list
+     * @param width The width of the view
+     * @param height The height of the view
+     * @param rowStride The distance between two rows in the backing list
+     */
+    private GridView(List<? extends T> input,
+        int offset, int width, int height, int rowStride)
+    {
+        this.input = input;
+        this.offset = offset;
+        this.width = width;
+        this.height = height;
+        this.rowStride = rowStride;
+    }
+    
+    /**
+     * Creates a new view. The parameters are assumed to be valid for the
+     * given list.
+     * 
+     * @param <T> The element type
+     *
+     * @param input The backing list
+     * @param offset The index of the first element in the backing list
+     * @param width The width of the view
+     * @param height The height of the view
+     * @param rowStride The distance between two rows in the backing list
+     * @return The view
+     */
+    static <T> GridView<T> create(List<? extends T> input,
+        int offset, int width, int height, int rowStride)
+    {
+        if (input instanceof RandomAccess)
+        {
+            return new RandomAccessGridView<T>(
+                input, offset, width, height, rowStride);
+        }
+        return new GridView<T>(input, offset, width, height, rowStride);
+    }
+
+    /**
+     * Make sure that the given list may be interpreted as a grid with
+     * the given size, and throw an <code>IllegalArgumentException</code>
+     * if not.
+     *
+     * @param input The input list
+     * @param width The width of the grid
+     * @param height The height of the grid
+     * @throws IllegalArgumentException If the width or height is not
+     * positive, or the size of the list is not <code>width*height</code>
+     */
+    static void validateGrid(List<?> input, int width, int height)
+    {
+        if (width <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The width must be positive, but is " + width);
+        }
+        if (height <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The height must be positive, but is " + height);
+        }
+        if ((long)width * height != input.size())
+        {
+            throw new IllegalArgumentException(
+                "Can not interpret a list with size " + input.size()
+                + " as a grid with size " + width + "x" + height);
+        }
+    }
+
+    @Override
+    public T get(int index)
+    {
+        int size = size();
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index is " + index + ", size is " + size);
+        }
+        int y = index / width;
+        int x = index - y * width;
+        return input.get(offset + y * rowStride + x);
+    }
+
+    @Override
+    public int size()
+    {
+        return width * height;
+    }
+    
+    @Override
+    public Object[] toArray()
+    {
+        if (!(this instanceof RandomAccess))
+        {
+            return super.toArray();
+        }
+        Object result[] = new Object[size()];
+        fill(result);
+        return result;
+    }
+    
+    @Override
+    public <A> A[] toArray(A array[])
+    {
+        if (!(this instanceof RandomAccess))
+        {
+            return super.toArray(array);
+        }
+        int size = size();
+        A result[] = array;
+        if (result.length < size)
+        {
+            result = Arrays.copyOf(array, size);
+        }
+        fill(result);
+        if (result.length > size)
+        {
+            result[size] = null;
+        }
+        return result;
+    }
+    
+    /**
+     * Write the elements of this view into the given array, row by row. 
+     * The array is assumed to be large enough.
+     * 
+     * @param target The target array
+     */
+    private void fill(Object target[])
+    {
+        int index = 0;
+        for (int y = 0; y < height; y++)
+        {
+            int rowStart = offset + y * rowStride;
+            for (int x = 0; x < width; x++)
+            {
+                target[index] = input.get(rowStart + x);
+                index++;
+            }
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action)
+    {
+        Objects.requireNonNull(action, "The action may not be null");
+        if (!(this instanceof RandomAccess))
+        {
+            super.forEach(action);
+            return;
+        }
+        for (int y = 0; y < height; y++)
+        {
+            int rowStart = offset + y * rowStride;
+            for (int x = 0; x < width; x++)
+            {
+                action.accept(input.get(rowStart + x));
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        if (!(this instanceof RandomAccess))
+        {
+            return super.spliterator();
+        }
+        return new GridViewSpliterator(0, size());
+    }
+
+    /**
+     * A spliterator over an index range of the enclosing view
+     */
+    private final class GridViewSpliterator implements Spliterator<T>
+    {
+        /**
+         * The current index, inclusive
+         */
+        private int index;
+
+        /**
+         * The end index, exclusive
+         */
+        private final int fence;
+
+        /**
+         * Creates a new instance
+         *
+         * @param index The start index, inclusive
+         * @param fence The end index, exclusive
+         */
+        GridViewSpliterator(int index, int fence)
+        {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action)
+        {
+            Objects.requireNonNull(action, "The action may not be null");
+            if (index < fence)
+            {
+                action.accept(get(index));
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<T> trySplit()
+        {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index)
+            {
+                return null;
+            }
+            Spliterator<T> prefix = new GridViewSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED
+                | Spliterator.SUBSIZED;
+        }
+    }
+    
+    /**
+     * A {@link GridView} on a list that implements the 
+     * <code>RandomAccess</code> interface
+     *
+     * @param <T> The element type
+     */
+    private static final class RandomAccessGridView<T> 
+        extends GridView<T> implements RandomAccess
+    {
+        /**
+         * Creates a new instance
+         *
+         * @param input The backing list
+         * @param offset The index of the first element in the backing list
+         * @param width The width of the view
+         * @param height The height of the view
+         * @param rowStride The distance between two rows in the backing 
+         * list
+         */
+        RandomAccessGridView(List<? extends T> input,
+            int offset, int width, int height, int rowStride)
+        {
+            super(input, offset, width, height, rowStride);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Classes related to windows and tiles of two-dimensional grids that are
+ * stored in lists.
+ */
+package de.javagl.sampling.grid;
@@ -0,0 +1,226 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Abstract base class for unmodifiable views on lists.<br>
+ * <br>
+ * Implementations only have to provide the {@link #size()} and the
+ * {@link #element(int)} method.<br>
+ * <br>
+ * This class does not implement the <code>RandomAccess</code> interface.
+ * Implementations should only implement it when accessing an element 
+ * by its index is fast, which usually means that the list that they are 
+ * backed by implements the <code>RandomAccess</code> interface. For 
+ * such implementations, this class offers bulk implementations of the 
+ * <code>toArray</code> and <code>forEach</code> methods that do not use 
+ * an iterator, and a spliterator that has a known size, and can be split
+ * efficiently, so that streams of views may be processed in parallel.
+ * For all other implementations, these methods use the iterator of the
+ * view.
+ *
+ * @param <T> The element type
+ */
+abstract class AbstractListView<T> extends AbstractList<T> 
+{
+    /**
+     * Returns the element at the given index. The index is assumed to 
+     * be in <code>[0, size())</code>.
+     * 
+     * @param index The index
+     * @return The element
+     */
+    abstract T element(int index);
+    
+    @Override
+    public final T get(int index)
+    {
+        int size = size();
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index is " + index + ", size is " + size);
+        }
+        return element(index);
+    }
+    
+    @Override
+    public Object[] toArray()
+    {
+        if (!(this instanceof RandomAccess))
+        {
+            return super.toArray();
+        }
+        int size = size();
+        Object result[] = new Object[size];
+        for (int i = 0; i < size; i++)
+        {
+            result[i] = element(i);
+        }
+        return result;
+    }
+    
+    @Override
+    public <A> A[] toArray(A array[])
+    {
+        if (!(this instanceof RandomAccess))
+        {
+            return super.toArray(array);
+        }
+        int size = size();
+        A result[] = array;
+        if (result.length < size)
+        {
+            @SuppressWarnings("unchecked")
+            A newArray[] = (A[])Array.newInstance(
+                array.getClass().getComponentType(), size);
+            result = newArray;
+        }
+        Object target[] = result;
+        for (int i = 0; i < size; i++)
+        {
+            target[i] = element(i);
+        }
+        if (result.length > size)
+        {
+            result[size] = null;
+        }
+        return result;
+    }
+    
+    @Override
+    public void forEach(Consumer<? super T> action)
+    {
+        Objects.requireNonNull(action, "The action may not be null");
+        if (!(this instanceof RandomAccess))
+        {
+            super.forEach(action);
+            return;
+        }
+        int size = size();
+        for (int i = 0; i < size; i++)
+        {
+            action.accept(element(i));
+        }
+    }
+    
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        if (!(this instanceof RandomAccess))
+        {
+            return super.spliterator();
+        }
+        return new ViewSpliterator(0, size());
+    }
+    
+    /**
+     * Implementation of a spliterator over a range of indices of 
+     * this view
+     */
+    private final class ViewSpliterator implements Spliterator<T>
+    {
+        /**
+         * The current index, inclusive
+         */
+        private int index;
+        
+        /**
+         * The end index, exclusive
+         */
+        private final int fence;
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param index The start index, inclusive
+         * @param fence The end index, exclusive
+         */
+        ViewSpliterator(int index, int fence)
+        {
+            this.index = index;
+            this.fence = fence;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action)
+        {
+            Objects.requireNonNull(action, "The action may not be null");
+            if (index < fence)
+            {
+                action.accept(element(index));
+                index++;
+                return true;
+            }
+            return false;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super T> action)
+        {
+            Objects.requireNonNull(action, "The action may not be null");
+            for (int i = index; i < fence; i++)
+            {
+                action.accept(element(i));
+            }
+            index = fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit()
+        {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index)
+            {
+                return null;
+            }
+            Spliterator<T> prefix = new ViewSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED 
+                | Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Abstract base class for unmodifiable views on lists where each element
+ * of the view is an element of a backing list. The mapping from indices 
+ * of this view to indices of the backing list is exposed, so that views
+ * on views may be flattened into views on the original backing list.
+ * See {@link ListViews}.<br>
+ * <br>
+ * Implementations should only implement the <code>RandomAccess</code> 
+ * interface when the backing list implements it. When the backing list 
+ * does not implement it, and the indices in the backing list are 
+ * ascending, then the iterator of this view will walk over the backing
+ * list with a single list iterator.
+ *
+ * @param <T> The element type
+ */
+abstract class BackedListView<T> extends AbstractListView<T>
+{
+    /**
+     * The backing list
+     */
+    private final List<? extends T> list;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param list The backing list
+     */
+    BackedListView(List<? extends T> list)
+    {
+        this.list = list;
+    }
+    
+    /**
+     * Returns the backing list of this view
+     * 
+     * @return The backing list
+     */
+    final List<? extends T> backingList()
+    {
+        return list;
+    }
+    
+    /**
+     * Returns the index in the backing list that corresponds to the 
+     * given index in this view. The index is assumed to be in 
+     * <code>[0, size())</code>.
+     * 
+     * @param index The index in this view
+     * @return The index in the backing list
+     */
+    abstract int backingIndex(int index);
+    
+    /**
+     * Returns whether the indices in the backing list are strictly 
+     * ascending, meaning that <code>backingIndex(i) &lt; 
+     * backingIndex(i + 1)</code> for all valid indices. The default 
+     * implementation returns <code>false</code>.
+     * 
+     * @return Whether the backing indices are ascending
+     */
+    boolean isAscending()
+    {
+        return false;
+    }
+    
+    @Override
+    final T element(int index)
+    {
+        return list.get(backingIndex(index));
+    }
+    
+    @Override
+    public Iterator<T> iterator()
+    {
+        if (list instanceof RandomAccess || !isAscending())
+        {
+            return super.iterator();
+        }
+        return new AscendingIterator();
+    }
+    
+    /**
+     * Implementation of an iterator over this view for the case that the
+     * backing indices are ascending. It walks over the backing list with
+     * a single list iterator, so that iterating over the view only 
+     * requires a single pass over the backing list, even when the backing 
+     * list does not support efficient random access.
+     */
+    private final class AscendingIterator implements Iterator<T>
+    {
+        /**
+         * The size of this view
+         */
+        private final int size = size();
+        
+        /**
+         * The index of the next element in this view
+         */
+        private int index = 0;
+        
+        /**
+         * The iterator over the backing list, created lazily
+         */
+        private ListIterator<? extends T> backingIterator = null;
+        
+        @Override
+        public boolean hasNext()
+        {
+            return index < size;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException("No more elements");
+            }
+            int backingIndex = backingIndex(index);
+            if (backingIterator == null)
+            {
+                backingIterator = list.listIterator(backingIndex);
+            }
+            while (backingIterator.nextIndex() < backingIndex)
+            {
+                backingIterator.next();
+            }
+            index++;
+            return backingIterator.next();
+        }
+    }
+}
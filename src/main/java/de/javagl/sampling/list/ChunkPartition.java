@@ -0,0 +1,217 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+/**
+ * Describes the division of a range of indices <code>[0, size)</code> 
+ * into a certain number of contiguous chunks.<br>
+ * <br>
+ * The chunks have approximately equal sizes: If the size is not 
+ * divisible by the number of chunks, then the first chunks will contain
+ * one more element than the last ones. This is the division that is 
+ * used by the methods in the {@link ListSplitting} class. For example, 
+ * a size of 10 and 3 chunks will result in the chunks
+ * <pre><code>
+ * [0, 4)
+ * [4, 7)
+ * [7, 10)
+ * </code></pre>
+ * (If the number of chunks is greater than the size, then the last 
+ * chunks will be empty).<br>
+ * <br>
+ * The boundaries of the chunks are computed arithmetically from the 
+ * chunk size and the remainder, which are computed when the instance 
+ * is created. Querying the boundaries does not allocate any objects.
+ */
+public final class ChunkPartition
+{
+    /**
+     * The size of the range that is divided into chunks
+     */
+    private final int size;
+    
+    /**
+     * The number of chunks
+     */
+    private final int numChunks;
+    
+    /**
+     * The size of the smaller chunks
+     */
+    private final int stepSize;
+    
+    /**
+     * The number of chunks that contain one additional element
+     */
+    private final int remainder;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param size The size of the range that is divided into chunks
+     * @param numChunks The number of chunks
+     * @throws IllegalArgumentException If the size is negative, or the
+     * number of chunks is smaller than 1
+     */
+    public ChunkPartition(int size, int numChunks)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException(
+                "The size may not be negative, but is " + size);
+        }
+        if (numChunks < 1)
+        {
+            throw new IllegalArgumentException(
+                "The number of chunks must be at least 1, but is " + numChunks);
+        }
+        this.size = size;
+        this.numChunks = numChunks;
+        this.stepSize = size / numChunks;
+        this.remainder = size % numChunks;
+    }
+    
+    /**
+     * Returns the size of the range that is divided into chunks
+     * 
+     * @return The size
+     */
+    public int getSize()
+    {
+        return size;
+    }
+    
+    /**
+     * Returns the number of chunks
+     * 
+     * @return The number of chunks
+     */
+    public int getNumChunks()
+    {
+        return numChunks;
+    }
+    
+    /**
+     * Returns the start index of the specified chunk, inclusive
+     * 
+     * @param chunkIndex The chunk index
+     * @return The start index
+     * @throws IllegalArgumentException If the chunk index is negative or 
+     * not smaller than the number of chunks
+     */
+    public int getFromIndex(int chunkIndex)
+    {
+        validateChunkIndex(chunkIndex);
+        return computeChunkStart(chunkIndex);
+    }
+    
+    /**
+     * Returns the end index of the specified chunk, exclusive
+     * 
+     * @param chunkIndex The chunk index
+     * @return The end index
+     * @throws IllegalArgumentException If the chunk index is negative or 
+     * not smaller than the number of chunks
+     */
+    public int getToIndex(int chunkIndex)
+    {
+        validateChunkIndex(chunkIndex);
+        return computeChunkStart(chunkIndex + 1);
+    }
+    
+    /**
+     * Returns the size of the specified chunk
+     * 
+     * @param chunkIndex The chunk index
+     * @return The size of the chunk
+     * @throws IllegalArgumentException If the chunk index is negative or 
+     * not smaller than the number of chunks
+     */
+    public int getChunkSize(int chunkIndex)
+    {
+        validateChunkIndex(chunkIndex);
+        return chunkIndex < remainder ? stepSize + 1 : stepSize;
+    }
+    
+    /**
+     * Computes the start index of the specified chunk. For a chunk index 
+     * that is equal to the number of chunks, this will return the size.
+     * 
+     * @param chunkIndex The chunk index, in <code>[0, numChunks]</code>
+     * @return The start index
+     */
+    private int computeChunkStart(int chunkIndex)
+    {
+        return chunkIndex * stepSize + Math.min(chunkIndex, remainder);
+    }
+    
+    /**
+     * Computes the start index of the specified chunk, when a range with
+     * the given size is divided into the given number of chunks. For a 
+     * chunk index that is equal to the number of chunks, this will return
+     * the size.<br>
+     * <br>
+     * This method assumes that the number of chunks is positive, and the
+     * chunk index is in <code>[0, numChunks]</code>.
+     * 
+     * @param size The size
+     * @param numChunks The number of chunks
+     * @param chunkIndex The chunk index
+     * @return The start index of the chunk
+     */
+    static int computeChunkStart(int size, int numChunks, int chunkIndex)
+    {
+        int stepSize = size / numChunks;
+        int remainder = size % numChunks;
+        return chunkIndex * stepSize + Math.min(chunkIndex, remainder);
+    }
+    
+    /**
+     * Make sure that the given chunk index is valid for this partition, 
+     * and throw an <code>IllegalArgumentException</code> if not.
+     * 
+     * @param chunkIndex The chunk index
+     * @throws IllegalArgumentException If the chunk index is negative or 
+     * not smaller than the number of chunks
+     */
+    private void validateChunkIndex(int chunkIndex)
+    {
+        if (chunkIndex < 0 || chunkIndex >= numChunks)
+        {
+            throw new IllegalArgumentException(
+                "The chunk index must be in [0, " + numChunks 
+                + "), but is " + chunkIndex);
+        }
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "ChunkPartition[size=" + size 
+            + ", numChunks=" + numChunks + "]";
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementation of an unmodifiable view on the elements of a list that
+ * are located at equidistant indices, wrapping around at the end of the
+ * list. The view contains the elements at the indices 
+ * <code>(start + i * stride) % size</code>, where <code>size</code> is 
+ * the size of the backing list. Changes in the backing list will be 
+ * visible in this view. The behavior of this view is undefined when the 
+ * backing list is structurally modified.<br>
+ * <br>
+ * Instances are created with the {@link #create} method, which returns 
+ * a view that implements the <code>RandomAccess</code> interface if and
+ * only if the backing list implements it.
+ *
+ * @param <T> The element type
+ */
+class CircularStridedListView<T> extends BackedListView<T>
+{
+    /**
+     * The index of the first element in the backing list
+     */
+    private final int start;
+    
+    /**
+     * The stride
+     */
+    private final int stride;
+    
+    /**
+     * The size of this view
+     */
+    private final int size;
+
+    /**
+     * Creates a new instance. The parameters are assumed to be valid for
+     * the given list: The start index must be a valid index in the list, 
+     * and <code>size * stride</code> may not be larger than the size of 
+     * the list, so that the view does not contain duplicate elements.
+     * 
+     * @param list The backing list
+     * @param start The index of the first element in the backing list
+     * @param stride The stride, which must be positive
+     * @param size The size of this view
+     */
+    private CircularStridedListView(List<? extends T> list, 
+        int start, int stride, int size)
+    {
+        super(list);
+        this.start = start;
+        this.stride = stride;
+        this.size = size;
+    }
+    
+    /**
+     * Creates a new view. The parameters are assumed to be valid for
+     * the given list: The start index must be a valid index in the list, 
+     * and <code>size * stride</code> may not be larger than the size of 
+     * the list, so that the view does not contain duplicate elements.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The backing list
+     * @param start The index of the first element in the backing list
+     * @param stride The stride, which must be positive
+     * @param size The size of the view
+     * @return The view
+     */
+    static <T> CircularStridedListView<T> create(List<? extends T> list, 
+        int start, int stride, int size)
+    {
+        if (list instanceof RandomAccess)
+        {
+            return new RandomAccessCircularStridedListView<T>(
+                list, start, stride, size);
+        }
+        return new CircularStridedListView<T>(list, start, stride, size);
+    }
+    
+    /**
+     * Returns the stride of this view
+     * 
+     * @return The stride
+     */
+    int stride()
+    {
+        return stride;
+    }
+    
+    @Override
+    int backingIndex(int index)
+    {
+        // Computed without the sum start + offset, which could overflow 
+        // for very large lists
+        int offset = index * stride;
+        int remaining = backingList().size() - start;
+        if (offset < remaining)
+        {
+            return start + offset;
+        }
+        return offset - remaining;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+    
+    /**
+     * A {@link CircularStridedListView} on a list that implements the 
+     * <code>RandomAccess</code> interface
+     *
+     * @param <T> The element type
+     */
+    private static final class RandomAccessCircularStridedListView<T> 
+        extends CircularStridedListView<T> implements RandomAccess
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param list The backing list
+         * @param start The index of the first element in the backing list
+         * @param stride The stride, which must be positive
+         * @param size The size of the view
+         */
+        RandomAccessCircularStridedListView(List<? extends T> list, 
+            int start, int stride, int size)
+        {
+            super(list, start, stride, size);
+        }
+    }
+}
\ No newline at end of file
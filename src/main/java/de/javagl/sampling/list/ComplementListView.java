@@ -0,0 +1,134 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementation of an unmodifiable view on a list that contains all 
+ * elements of the list, except for the elements at certain indices. 
+ * Changes in the backing list will be visible in this view. The 
+ * behavior of this view is undefined when the backing list is 
+ * structurally modified.<br>
+ * <br>
+ * Instances are created with the {@link #create} method, which returns 
+ * a view that implements the <code>RandomAccess</code> interface if and
+ * only if the backing list implements it.
+ *
+ * @param <T> The element type
+ */
+class ComplementListView<T> extends BackedListView<T>
+{
+    /**
+     * The indices of the omitted elements, in ascending order
+     */
+    private final int omittedIndices[];
+
+    /**
+     * Creates a new instance. The given indices are assumed to be 
+     * distinct, valid for the given list, and sorted in ascending order.
+     * 
+     * @param list The backing list
+     * @param omittedIndices The indices of the omitted elements
+     */
+    private ComplementListView(List<? extends T> list, int omittedIndices[])
+    {
+        super(list);
+        this.omittedIndices = omittedIndices;
+    }
+    
+    /**
+     * Creates a new view. The given indices are assumed to be distinct,
+     * valid for the given list, and sorted in ascending order.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The backing list
+     * @param omittedIndices The indices of the omitted elements
+     * @return The view
+     */
+    static <T> ComplementListView<T> create(List<? extends T> list, 
+        int omittedIndices[])
+    {
+        if (list instanceof RandomAccess)
+        {
+            return new RandomAccessComplementListView<T>(
+                list, omittedIndices);
+        }
+        return new ComplementListView<T>(list, omittedIndices);
+    }
+    
+    @Override
+    boolean isAscending()
+    {
+        return true;
+    }
+    
+    @Override
+    int backingIndex(int index)
+    {
+        int result = index;
+        for (int i = 0; i < omittedIndices.length; i++)
+        {
+            if (omittedIndices[i] > result)
+            {
+                break;
+            }
+            result++;
+        }
+        return result;
+    }
+
+    @Override
+    public int size()
+    {
+        return backingList().size() - omittedIndices.length;
+    }
+    
+    /**
+     * A {@link ComplementListView} on a list that implements the 
+     * <code>RandomAccess</code> interface
+     *
+     * @param <T> The element type
+     */
+    private static final class RandomAccessComplementListView<T> 
+        extends ComplementListView<T> implements RandomAccess
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param list The backing list
+         * @param omittedIndices The indices of the omitted elements
+         */
+        RandomAccessComplementListView(List<? extends T> list, 
+            int omittedIndices[])
+        {
+            super(list, omittedIndices);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementation of an unmodifiable view on the elements of a list 
+ * that have certain indices. The indices are given as a range of an 
+ * index array, from which one inner range may be omitted. This way, 
+ * views on parts of this view, and views that omit parts of this view, 
+ * may share the same array. Changes in the backing list or the index 
+ * array will be visible in this view.<br>
+ * <br>
+ * Instances are created with the {@link #create(List, int[])} method, 
+ * which returns a view that implements the <code>RandomAccess</code> 
+ * interface if and only if the backing list implements it.
+ *
+ * @param <T> The element type
+ */
+class IndexListView<T> extends BackedListView<T>
+{
+    /**
+     * The array containing the indices of the elements in the backing list
+     */
+    private final int indices[];
+
+    /**
+     * The start index in the index array, inclusive
+     */
+    private final int fromIndex;
+    
+    /**
+     * The end index in the index array, exclusive
+     */
+    private final int toIndex;
+    
+    /**
+     * The start index of the range in the index array that is omitted,
+     * inclusive
+     */
+    private final int omitFromIndex;
+    
+    /**
+     * The end index of the range in the index array that is omitted,
+     * exclusive
+     */
+    private final int omitToIndex;
+    
+    /**
+     * Creates a new instance that uses the indices in the given range
+     * of the given array, except for the given inner range. The ranges
+     * are assumed to be valid. 
+     * 
+     * @param list The backing list
+     * @param indices The indices of the elements in the backing list
+     * @param fromIndex The start index in the index array, inclusive
+     * @param toIndex The end index in the index array, exclusive
+     * @param omitFromIndex The start index of the range that is omitted,
+     * inclusive
+     * @param omitToIndex The end index of the range that is omitted,
+     * exclusive
+     */
+    private IndexListView(List<? extends T> list, int indices[], 
+        int fromIndex, int toIndex, int omitFromIndex, int omitToIndex)
+    {
+        super(list);
+        this.indices = indices;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.omitFromIndex = omitFromIndex;
+        this.omitToIndex = omitToIndex;
+    }
+    
+    /**
+     * Creates a new view that uses all indices of the given array
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The backing list
+     * @param indices The indices of the elements in the backing list
+     * @return The view
+     */
+    static <T> IndexListView<T> create(List<? extends T> list, int indices[])
+    {
+        return create(list, indices, 0, indices.length, 
+            indices.length, indices.length);
+    }
+    
+    /**
+     * Creates a new view that uses the indices in the given range of the
+     * given array, except for the given inner range. The ranges are 
+     * assumed to be valid. 
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The backing list
+     * @param indices The indices of the elements in the backing list
+     * @param fromIndex The start index in the index array, inclusive
+     * @param toIndex The end index in the index array, exclusive
+     * @param omitFromIndex The start index of the range that is omitted,
+     * inclusive
+     * @param omitToIndex The end index of the range that is omitted,
+     * exclusive
+     * @return The view
+     */
+    private static <T> IndexListView<T> create(
+        List<? extends T> list, int indices[], 
+        int fromIndex, int toIndex, int omitFromIndex, int omitToIndex)
+    {
+        if (list instanceof RandomAccess)
+        {
+            return new RandomAccessIndexListView<T>(list, indices, 
+                fromIndex, toIndex, omitFromIndex, omitToIndex);
+        }
+        return new IndexListView<T>(list, indices, 
+            fromIndex, toIndex, omitFromIndex, omitToIndex);
+    }
+    
+    /**
+     * Creates a view on the given range of the given view. The range is 
+     * assumed to be valid. The returned view will share the index array
+     * of the given view.
+     * 
+     * @param <T> The element type
+     * 
+     * @param view The view
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @return The view
+     */
+    static <T> IndexListView<T> createRange(
+        IndexListView<? extends T> view, int fromIndex, int toIndex)
+    {
+        int omitStart = view.omitFromIndex - view.fromIndex;
+        int omitSize = view.omitToIndex - view.omitFromIndex;
+        int newFromIndex = view.fromIndex + fromIndex;
+        if (fromIndex >= omitStart)
+        {
+            newFromIndex += omitSize;
+        }
+        // An empty range that starts at the omitted range is shifted 
+        // together with its start index
+        int newToIndex = view.fromIndex + toIndex;
+        if (toIndex > omitStart || fromIndex >= omitStart)
+        {
+            newToIndex += omitSize;
+        }
+        if (newFromIndex <= view.omitFromIndex && 
+            view.omitToIndex <= newToIndex)
+        {
+            return create(view.backingList(), view.indices, 
+                newFromIndex, newToIndex, 
+                view.omitFromIndex, view.omitToIndex);
+        }
+        return create(view.backingList(), view.indices, 
+            newFromIndex, newToIndex, newToIndex, newToIndex);
+    }
+    
+    /**
+     * Creates a view on the given view that omits the given range. The 
+     * range is assumed to be valid. If the given view does not already 
+     * omit a range, then the returned view will share the index array of
+     * the given view. Otherwise, this method returns <code>null</code>.
+     * 
+     * @param <T> The element type
+     * 
+     * @param view The view
+     * @param fromIndex The start index of the range to omit, inclusive
+     * @param toIndex The end index of the range to omit, exclusive
+     * @return The view, or <code>null</code>
+     */
+    static <T> IndexListView<T> createInverseRange(
+        IndexListView<? extends T> view, int fromIndex, int toIndex)
+    {
+        if (view.omitFromIndex != view.omitToIndex)
+        {
+            return null;
+        }
+        return create(view.backingList(), view.indices, 
+            view.fromIndex, view.toIndex, 
+            view.fromIndex + fromIndex, view.fromIndex + toIndex);
+    }
+    
+    @Override
+    int backingIndex(int index)
+    {
+        int i = fromIndex + index;
+        if (i >= omitFromIndex)
+        {
+            i += omitToIndex - omitFromIndex;
+        }
+        return indices[i];
+    }
+
+    @Override
+    public int size()
+    {
+        return toIndex - fromIndex - (omitToIndex - omitFromIndex);
+    }
+    
+    /**
+     * An {@link IndexListView} on a list that implements the 
+     * <code>RandomAccess</code> interface
+     *
+     * @param <T> The element type
+     */
+    private static final class RandomAccessIndexListView<T> 
+        extends IndexListView<T> implements RandomAccess
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param list The backing list
+         * @param indices The indices of the elements in the backing list
+         * @param fromIndex The start index in the index array, inclusive
+         * @param toIndex The end index in the index array, exclusive
+         * @param omitFromIndex The start index of the range that is 
+         * omitted, inclusive
+         * @param omitToIndex The end index of the range that is omitted,
+         * exclusive
+         */
+        RandomAccessIndexListView(List<? extends T> list, int indices[], 
+            int fromIndex, int toIndex, int omitFromIndex, int omitToIndex)
+        {
+            super(list, indices, 
+                fromIndex, toIndex, omitFromIndex, omitToIndex);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Methods to create the {@link TrainTestSplit} instances for a 
+ * k-fold cross-validation.<br>
+ * <br>
+ * The list is divided into <code>k</code> chunks, as described in 
+ * {@link ListSplitting#extractChunks(List, int)}. Each fold uses one
+ * of these chunks as the testing list, and the remaining elements as 
+ * the training list. Both lists are unmodifiable views on the input 
+ * list.<br>
+ * <br>
+ * The returned streams have a known size, and may efficiently be 
+ * processed in parallel. The folds are created lazily, when they are 
+ * obtained from the stream.
+ */
+public class KFold
+{
+    /**
+     * Creates a stream that provides the folds of a k-fold 
+     * cross-validation for the given list.<br>
+     * <br>
+     * For example, a call with
+     * <pre><code>
+     * list = [ 0, 1, 2, 3, 4, 5, 6 ]
+     * numFolds = 3
+     * </code></pre>
+     * will create a stream that contains the following (training, 
+     * testing) pairs:
+     * <pre><code>
+     * ([ 3, 4, 5, 6 ],       [ 0, 1, 2 ])
+     * ([ 0, 1, 2, 5, 6 ],    [ 3, 4 ])
+     * ([ 0, 1, 2, 3, 4 ],    [ 5, 6 ])
+     * </code></pre>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the folds have been obtained
+     * from the stream, the behavior of the folds is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param numFolds The number of folds
+     * @return The stream
+     * @throws IllegalArgumentException If the number of folds is smaller
+     * than 2
+     */
+    public static <T> Stream<TrainTestSplit<T>> createFolds(
+        List<? extends T> list, int numFolds)
+    {
+        validateNumFolds(numFolds);
+        return IntStream.range(0, numFolds).mapToObj(
+            i -> createFold(list, numFolds, i));
+    }
+    
+    /**
+     * Creates a stream that provides the folds of a k-fold 
+     * cross-validation for a randomly shuffled version of the given list.
+     * <br>
+     * <br>
+     * The folds will be created as described in 
+     * {@link #createFolds(List, int)}, for a random permutation of the 
+     * given list. The permutation is created once, as a view that only 
+     * stores the permuted indices (see 
+     * {@link ListSampling#createPermutation(List, Random)}). All folds 
+     * share this index array, so that no elements are copied.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the folds have been obtained
+     * from the stream, the behavior of the folds is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param numFolds The number of folds
+     * @param random The random number generator
+     * @return The stream
+     * @throws IllegalArgumentException If the number of folds is smaller
+     * than 2
+     */
+    public static <T> Stream<TrainTestSplit<T>> createShuffledFolds(
+        List<? extends T> list, int numFolds, Random random)
+    {
+        validateNumFolds(numFolds);
+        List<T> permutedList = ListSampling.createPermutation(list, random);
+        return createFolds(permutedList, numFolds);
+    }
+    
+    /**
+     * Creates a stream that provides the folds of a repeated k-fold 
+     * cross-validation for the given list.<br>
+     * <br>
+     * For each repetition, the folds will be created for a different 
+     * random permutation of the list, as described in 
+     * {@link #createShuffledFolds(List, int, Random)}. The stream will 
+     * contain <code>numRepeats * numFolds</code> elements: The folds of the
+     * first repetition, followed by the folds of the second repetition,
+     * and so on.<br>
+     * <br>
+     * The seeds for the random permutations of all repetitions are 
+     * obtained from the given random number generator when this method 
+     * is called. The permutation for one repetition is computed lazily,
+     * when the first fold of this repetition is obtained from the stream,
+     * and shared by all folds of this repetition. So the resulting folds
+     * do not depend on the order in which they are obtained, and the
+     * stream may be processed in parallel.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the folds have been obtained
+     * from the stream, the behavior of the folds is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param numFolds The number of folds
+     * @param numRepeats The number of repetitions
+     * @param random The random number generator
+     * @return The stream
+     * @throws IllegalArgumentException If the number of folds is smaller
+     * than 2, the number of repetitions is negative, or the total number
+     * of folds is larger than <code>Integer.MAX_VALUE</code>
+     */
+    public static <T> Stream<TrainTestSplit<T>> createRepeatedFolds(
+        List<? extends T> list, int numFolds, int numRepeats, Random random)
+    {
+        validateNumFolds(numFolds);
+        if (numRepeats < 0)
+        {
+            throw new IllegalArgumentException(
+                "The number of repetitions may not be negative, but is " 
+                + numRepeats);
+        }
+        long numSplits = (long)numRepeats * numFolds;
+        if (numSplits > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(
+                "The total number of folds must be at most " 
+                + Integer.MAX_VALUE + ", but is " + numRepeats + "*" 
+                + numFolds + "=" + numSplits);
+        }
+        Objects.requireNonNull(random, "The random may not be null");
+        long seeds[] = new long[numRepeats];
+        for (int r = 0; r < numRepeats; r++)
+        {
+            seeds[r] = random.nextLong();
+        }
+        AtomicReferenceArray<List<T>> permutedLists = 
+            new AtomicReferenceArray<List<T>>(numRepeats);
+        return IntStream.range(0, (int)numSplits).mapToObj(i -> 
+        {
+            int r = i / numFolds;
+            List<T> permutedList = permutedLists.get(r);
+            if (permutedList == null)
+            {
+                permutedList = ListSampling.createPermutation(
+                    list, new Random(seeds[r]));
+                if (!permutedLists.compareAndSet(r, null, permutedList))
+                {
+                    permutedList = permutedLists.get(r);
+                }
+            }
+            return createFold(permutedList, numFolds, i % numFolds);
+        });
+    }
+    
+    /**
+     * Creates a stream that provides the folds of a stratified k-fold 
+     * cross-validation for the given list.<br>
+     * <br>
+     * The elements of the list are grouped into strata, where elements 
+     * with equal keys belong to the same stratum. Each stratum is divided
+     * into the given number of chunks, as described in 
+     * {@link ListSplitting#extractChunks(List, int)}, and the testing 
+     * list of each fold consists of one chunk of each stratum. So the
+     * proportions of the strata in each fold are approximately the same
+     * as in the whole list. The sizes of the testing lists differ by at 
+     * most one.<br>
+     * <br>
+     * The testing list of each fold contains the elements of each stratum 
+     * in the order in which they appear in the given list, and the strata 
+     * in the order in which their keys first appear in the given list.<br>
+     * <br>
+     * The stratification is computed when this method is called, in 
+     * linear time. All folds are views that share a single index array.
+     * <br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the folds have been obtained
+     * from the stream, the behavior of the folds is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param keyExtractor The function that extracts the stratum key 
+     * from each element
+     * @param numFolds The number of folds
+     * @return The stream
+     * @throws IllegalArgumentException If the number of folds is smaller
+     * than 2
+     */
+    public static <T> Stream<TrainTestSplit<T>> createStratifiedFolds(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        int numFolds)
+    {
+        validateNumFolds(numFolds);
+        Stratification stratification = 
+            Stratification.create(list, keyExtractor);
+        return createStratifiedFolds(list, stratification, numFolds);
+    }
+    
+    /**
+     * Creates a stream that provides the folds of a shuffled, stratified 
+     * k-fold cross-validation for the given list.<br>
+     * <br>
+     * This is the same as 
+     * {@link #createStratifiedFolds(List, Function, int)}, except for 
+     * the elements of each stratum being shuffled randomly before the 
+     * strata are divided into chunks.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the folds have been obtained
+     * from the stream, the behavior of the folds is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param keyExtractor The function that extracts the stratum key 
+     * from each element
+     * @param numFolds The number of folds
+     * @param random The random number generator
+     * @return The stream
+     * @throws IllegalArgumentException If the number of folds is smaller
+     * than 2
+     */
+    public static <T> Stream<TrainTestSplit<T>> createStratifiedFolds(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        int numFolds, Random random)
+    {
+        validateNumFolds(numFolds);
+        Stratification stratification = 
+            Stratification.create(list, keyExtractor);
+        stratification.shuffle(random);
+        return createStratifiedFolds(list, stratification, numFolds);
+    }
+    
+    /**
+     * Creates the stream of folds for the given stratification of the
+     * given list. The parameters are assumed to be valid.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param stratification The {@link Stratification} of the list
+     * @param numFolds The number of folds
+     * @return The stream
+     */
+    private static <T> Stream<TrainTestSplit<T>> createStratifiedFolds(
+        List<? extends T> list, Stratification stratification, int numFolds)
+    {
+        int foldOffsets[] = new int[numFolds + 1];
+        int foldOrder[] = stratification.createFolds(numFolds, foldOffsets);
+        return createFolds(list, foldOrder, foldOffsets);
+    }
+    
+    /**
+     * Creates a stream that provides the folds of a group k-fold 
+     * cross-validation for the given list.<br>
+     * <br>
+     * The elements of the list are grouped, where elements with equal 
+     * keys belong to the same group. All elements of one group will be
+     * contained in the testing list of the same fold. The groups are 
+     * assigned to the folds so that the sizes of the testing lists are 
+     * balanced, using a greedy bin packing heuristic: The groups are 
+     * processed in the order of descending size, and each group is 
+     * assigned to the fold that currently contains the fewest elements.
+     * <br>
+     * <br>
+     * The testing list of each fold contains the elements of each group
+     * in the order in which they appear in the given list. If there are
+     * fewer groups than folds, then some testing lists will be empty.
+     * <br>
+     * <br>
+     * The grouping is computed when this method is called, in linear 
+     * time in the size of the list. All folds are views that share a 
+     * single index array.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the folds have been obtained
+     * from the stream, the behavior of the folds is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param keyExtractor The function that extracts the group key 
+     * from each element
+     * @param numFolds The number of folds
+     * @return The stream
+     * @throws IllegalArgumentException If the number of folds is smaller
+     * than 2
+     */
+    public static <T> Stream<TrainTestSplit<T>> createGroupFolds(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        int numFolds)
+    {
+        validateNumFolds(numFolds);
+        Stratification grouping = Stratification.create(list, keyExtractor);
+        int foldOffsets[] = new int[numFolds + 1];
+        int foldOrder[] = grouping.createGroupFolds(numFolds, foldOffsets);
+        return createFolds(list, foldOrder, foldOffsets);
+    }
+    
+    /**
+     * Creates the stream of folds for the given list, where the testing 
+     * list of each fold is a range of the given index array. The 
+     * parameters are assumed to be valid.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param foldOrder The indices of the elements, sorted by fold
+     * @param foldOffsets The start indices of the folds in the index 
+     * array, with a length of <code>numFolds + 1</code>
+     * @return The stream
+     */
+    private static <T> Stream<TrainTestSplit<T>> createFolds(
+        List<? extends T> list, int foldOrder[], int foldOffsets[])
+    {
+        int numFolds = foldOffsets.length - 1;
+        List<T> orderedList = ListViews.createIndexView(list, foldOrder);
+        return IntStream.range(0, numFolds).mapToObj(i -> 
+        {
+            int fromIndex = foldOffsets[i];
+            int toIndex = foldOffsets[i + 1];
+            List<T> training = ListViews.createInverseRangeView(
+                orderedList, fromIndex, toIndex);
+            List<T> testing = ListViews.createRangeView(
+                orderedList, fromIndex, toIndex);
+            return new TrainTestSplit<T>(training, testing);
+        });
+    }
+    
+    /**
+     * Creates the specified fold for the given list. The parameters are
+     * assumed to be valid.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param numFolds The number of folds
+     * @param foldIndex The index of the fold
+     * @return The fold
+     */
+    private static <T> TrainTestSplit<T> createFold(
+        List<? extends T> list, int numFolds, int foldIndex)
+    {
+        List<T> training = 
+            ListSplitting.omitChunk(list, numFolds, foldIndex);
+        List<T> testing = 
+            ListSplitting.extractChunk(list, numFolds, foldIndex);
+        return new TrainTestSplit<T>(training, testing);
+    }
+    
+    /**
+     * Make sure that the given number of folds is valid, and throw an
+     * <code>IllegalArgumentException</code> if not.
+     * 
+     * @param numFolds The number of folds
+     * @throws IllegalArgumentException If the number of folds is smaller
+     * than 2
+     */
+    private static void validateNumFolds(int numFolds)
+    {
+        if (numFolds < 2)
+        {
+            throw new IllegalArgumentException(
+                "The number of folds must be at least 2, but is " + numFolds);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private KFold()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,582 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Methods to create combinations of the elements of lists. A combination
+ * of size <code>p</code> is a subset of <code>p</code> elements of a list,
+ * which is represented by an unmodifiable view on the list that contains
+ * the selected elements in the order in which they appear in the list.
+ * <br>
+ * <br>
+ * The combinations of one list are ordered lexicographically, by the 
+ * indices of the selected elements. For example, the combinations of 
+ * size 2 of the list <code>[a, b, c, d]</code> are
+ * <pre><code>
+ * 0: [a, b]
+ * 1: [a, c]
+ * 2: [a, d]
+ * 3: [b, c]
+ * 4: [b, d]
+ * 5: [c, d]
+ * </code></pre>
+ * The position of a combination in this order is called its <i>rank</i>.
+ * Based on the combinatorial number system, the combination for a given
+ * rank can be computed directly, without enumerating the combinations 
+ * that come before it. This allows random access to the combinations,
+ * parallel enumeration, and drawing uniformly distributed random 
+ * combinations.
+ */
+public class ListCombinations
+{
+    /**
+     * Computes the number of combinations of size <code>p</code> of a 
+     * list with size <code>n</code>, which is the binomial coefficient 
+     * <code>n choose p</code>.
+     * 
+     * @param n The size of the list
+     * @param p The size of the combinations
+     * @return The number of combinations
+     * @throws IllegalArgumentException If <code>n</code> is negative, or
+     * <code>p</code> is not in <code>[0, n]</code>, or the number of 
+     * combinations is larger than <code>Long.MAX_VALUE</code>
+     */
+    public static long computeNumCombinations(int n, int p)
+    {
+        validate(n, p);
+        long result = binomial(n, p);
+        if (result < 0)
+        {
+            throw new IllegalArgumentException(
+                "The number of combinations of size " + p 
+                + " of " + n + " elements is too large");
+        }
+        return result;
+    }
+    
+    /**
+     * Computes the indices of the elements of the combination with 
+     * the given rank, in ascending order. This requires 
+     * <code>O(p * p * log(n))</code> time.
+     * 
+     * @param n The size of the list
+     * @param p The size of the combinations
+     * @param rank The rank of the combination
+     * @return The indices
+     * @throws IllegalArgumentException If <code>n</code> is negative, or
+     * <code>p</code> is not in <code>[0, n]</code>, or the number of 
+     * combinations is larger than <code>Long.MAX_VALUE</code>, or the 
+     * rank is negative or not smaller than the number of combinations
+     */
+    public static int[] computeIndices(int n, int p, long rank)
+    {
+        long numCombinations = computeNumCombinations(n, p);
+        validateRank(rank, numCombinations);
+        int indices[] = new int[p];
+        unrank(n, p, numCombinations, rank, indices);
+        return indices;
+    }
+    
+    /**
+     * Computes the rank of the combination that consists of the given 
+     * indices.
+     * 
+     * @param n The size of the list
+     * @param indices The indices, in ascending order
+     * @return The rank
+     * @throws IllegalArgumentException If <code>n</code> is negative, or 
+     * the number of combinations is larger than <code>Long.MAX_VALUE</code>,
+     * or the indices are not strictly ascending values in 
+     * <code>[0, n)</code>
+     */
+    public static long computeRank(int n, int indices[])
+    {
+        int p = indices.length;
+        long numCombinations = computeNumCombinations(n, p);
+        long colexRank = 0;
+        for (int i = 0; i < p; i++)
+        {
+            int index = indices[i];
+            if (index < 0 || index >= n 
+                || (i > 0 && index <= indices[i - 1]))
+            {
+                throw new IllegalArgumentException(
+                    "The indices must be strictly ascending values in [0, " 
+                    + n + "), but index " + i + " is " + index);
+            }
+            colexRank += binomial(n - 1 - index, p - i);
+        }
+        return numCombinations - 1 - colexRank;
+    }
+    
+    /**
+     * Returns the combination of the given list with the given size and 
+     * the given rank.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. Changes in the given list will affect the returned list. If 
+     * the given list is structurally modified after it was passed to this
+     * method, the behavior of the returned list is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param p The size of the combination
+     * @param rank The rank of the combination
+     * @return The combination
+     * @throws IllegalArgumentException If <code>p</code> is not in 
+     * <code>[0, list.size()]</code>, or the number of combinations is 
+     * larger than <code>Long.MAX_VALUE</code>, or the rank is negative 
+     * or not smaller than the number of combinations
+     */
+    public static <T> List<T> getCombination(
+        List<? extends T> list, int p, long rank)
+    {
+        int indices[] = computeIndices(list.size(), p, rank);
+        return ListViews.createIndexView(list, indices);
+    }
+    
+    /**
+     * Returns a uniformly distributed random combination of the given 
+     * list with the given size. The combination is obtained by drawing
+     * a random rank.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. Changes in the given list will affect the returned list. If 
+     * the given list is structurally modified after it was passed to this
+     * method, the behavior of the returned list is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param p The size of the combination
+     * @param random The random number generator
+     * @return The combination
+     * @throws IllegalArgumentException If <code>p</code> is not in 
+     * <code>[0, list.size()]</code>, or the number of combinations is 
+     * larger than <code>Long.MAX_VALUE</code>
+     */
+    public static <T> List<T> createRandomCombination(
+        List<? extends T> list, int p, Random random)
+    {
+        long numCombinations = computeNumCombinations(list.size(), p);
+        long rank = RandomUtils.randomLong(numCombinations, random);
+        int indices[] = new int[p];
+        unrank(list.size(), p, numCombinations, rank, indices);
+        return ListViews.createIndexView(list, indices);
+    }
+    
+    /**
+     * Creates a stream that provides all combinations of the given size 
+     * of the given list, in lexicographical order.<br>
+     * <br>
+     * The stream has a known size, and may efficiently be processed in 
+     * parallel.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the combinations have been 
+     * obtained from the stream, the behavior of the combinations is 
+     * unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param p The size of the combinations
+     * @return The stream
+     * @throws IllegalArgumentException If <code>p</code> is not in 
+     * <code>[0, list.size()]</code>, or the number of combinations is 
+     * larger than <code>Long.MAX_VALUE</code>
+     */
+    public static <T> Stream<List<T>> createCombinations(
+        List<? extends T> list, int p)
+    {
+        return createIndicesStream(list.size(), p).map(
+            indices -> ListViews.createIndexView(list, indices));
+    }
+    
+    /**
+     * Creates a stream that provides the splits of a leave-p-out 
+     * cross-validation of the given list.<br>
+     * <br>
+     * The testing lists are the combinations of size <code>p</code> of
+     * the given list, as provided by {@link #createCombinations}, and the 
+     * training lists are the views that contain the remaining elements.
+     * This is analogous to {@link ListSplitting#extractChunk} and 
+     * {@link ListSplitting#omitChunk}, for all subsets of the given size.
+     * <br>
+     * <br>
+     * The stream has a known size, and may efficiently be processed in 
+     * parallel.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the splits have been obtained 
+     * from the stream, the behavior of the splits is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param p The size of the testing lists
+     * @return The stream
+     * @throws IllegalArgumentException If <code>p</code> is not in 
+     * <code>[0, list.size()]</code>, or the number of combinations is 
+     * larger than <code>Long.MAX_VALUE</code>
+     */
+    public static <T> Stream<TrainTestSplit<T>> createLeavePOutSplits(
+        List<? extends T> list, int p)
+    {
+        return createIndicesStream(list.size(), p).map(indices -> 
+        {
+            List<T> training = 
+                ComplementListView.create(list, indices);
+            List<T> testing = ListViews.createIndexView(list, indices);
+            return new TrainTestSplit<T>(training, testing);
+        });
+    }
+    
+    /**
+     * Creates a stream of the indices of all combinations of size 
+     * <code>p</code> of <code>n</code> elements, in lexicographical order
+     * 
+     * @param n The number of elements
+     * @param p The size of the combinations
+     * @return The stream
+     * @throws IllegalArgumentException If <code>p</code> is not in 
+     * <code>[0, n]</code>, or the number of combinations is larger than 
+     * <code>Long.MAX_VALUE</code>
+     */
+    private static Stream<int[]> createIndicesStream(int n, int p)
+    {
+        long numCombinations = computeNumCombinations(n, p);
+        Spliterator<int[]> spliterator = new CombinationSpliterator(
+            n, p, numCombinations, 0, numCombinations);
+        return StreamSupport.stream(spliterator, false);
+    }
+    
+    /**
+     * Implementation of a spliterator over a range of ranks of 
+     * combinations, providing the indices of the combinations
+     */
+    private static final class CombinationSpliterator 
+        implements Spliterator<int[]>
+    {
+        /**
+         * The number of elements
+         */
+        private final int n;
+        
+        /**
+         * The size of the combinations
+         */
+        private final int p;
+        
+        /**
+         * The total number of combinations
+         */
+        private final long numCombinations;
+        
+        /**
+         * The rank of the next combination
+         */
+        private long rank;
+        
+        /**
+         * The end rank, exclusive
+         */
+        private final long fence;
+        
+        /**
+         * The indices of the combination with the current rank. This 
+         * will be computed when the first combination is requested.
+         */
+        private int indices[];
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param n The number of elements
+         * @param p The size of the combinations
+         * @param numCombinations The total number of combinations
+         * @param rank The start rank, inclusive
+         * @param fence The end rank, exclusive
+         */
+        CombinationSpliterator(int n, int p, long numCombinations, 
+            long rank, long fence)
+        {
+            this.n = n;
+            this.p = p;
+            this.numCombinations = numCombinations;
+            this.rank = rank;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super int[]> action)
+        {
+            Objects.requireNonNull(action, "The action may not be null");
+            if (rank >= fence)
+            {
+                return false;
+            }
+            if (indices == null)
+            {
+                indices = new int[p];
+                unrank(n, p, numCombinations, rank, indices);
+            }
+            else
+            {
+                increment(n, indices);
+            }
+            rank++;
+            action.accept(indices.clone());
+            return true;
+        }
+
+        @Override
+        public Spliterator<int[]> trySplit()
+        {
+            if (indices != null)
+            {
+                return null;
+            }
+            long middle = rank + (fence - rank) / 2;
+            if (middle <= rank)
+            {
+                return null;
+            }
+            Spliterator<int[]> prefix = new CombinationSpliterator(
+                n, p, numCombinations, rank, middle);
+            rank = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return fence - rank;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED 
+                | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+    
+    /**
+     * Changes the given indices to be the indices of the lexicographically
+     * next combination. The given indices are assumed to not be the last
+     * combination.
+     * 
+     * @param n The number of elements
+     * @param indices The indices
+     */
+    private static void increment(int n, int indices[])
+    {
+        int p = indices.length;
+        int i = p - 1;
+        while (indices[i] == n - p + i)
+        {
+            i--;
+        }
+        indices[i]++;
+        for (int j = i + 1; j < p; j++)
+        {
+            indices[j] = indices[j - 1] + 1;
+        }
+    }
+    
+    /**
+     * Computes the indices of the combination with the given rank, and 
+     * writes them into the given array. The parameters are assumed to 
+     * be valid.<br>
+     * <br>
+     * The lexicographical rank <code>r</code> of the combination 
+     * <code>a[0] &lt; ... &lt; a[p-1]</code> corresponds to the rank
+     * <code>numCombinations - 1 - r</code> of the "mirrored" combination
+     * <code>b[i] = n - 1 - a[p - 1 - i]</code> in the combinatorial 
+     * number system, where the rank is the sum of the binomial 
+     * coefficients <code>(b[i] choose i+1)</code>. The elements of 
+     * <code>b</code> are determined greedily, starting with the 
+     * largest one.
+     * 
+     * @param n The number of elements
+     * @param p The size of the combination
+     * @param numCombinations The number of combinations
+     * @param rank The rank
+     * @param indices The array that will store the indices
+     */
+    private static void unrank(
+        int n, int p, long numCombinations, long rank, int indices[])
+    {
+        long remaining = numCombinations - 1 - rank;
+        int upper = n - 1;
+        for (int k = p; k >= 1; k--)
+        {
+            // Find the largest c in [k-1, upper] with (c choose k) <= 
+            // remaining. Note that (k-1 choose k) is 0.
+            int low = k - 1;
+            int high = upper;
+            while (low < high)
+            {
+                int middle = (low + high + 1) >>> 1;
+                if (binomial(middle, k) <= remaining)
+                {
+                    low = middle;
+                }
+                else
+                {
+                    high = middle - 1;
+                }
+            }
+            remaining -= binomial(low, k);
+            indices[p - k] = n - 1 - low;
+            upper = low - 1;
+        }
+    }
+    
+    /**
+     * Computes the binomial coefficient <code>n choose k</code>, or -1 
+     * if the result is larger than <code>Long.MAX_VALUE</code>. Returns 0 
+     * if <code>k</code> is negative or larger than <code>n</code>.
+     * 
+     * @param n The value n
+     * @param k The value k
+     * @return The binomial coefficient, or -1 if it overflows
+     */
+    static long binomial(int n, int k)
+    {
+        if (k < 0 || k > n)
+        {
+            return 0;
+        }
+        int kk = Math.min(k, n - k);
+        long result = 1;
+        for (int i = 1; i <= kk; i++)
+        {
+            // The result is (n-kk+i choose i), which is an integer. 
+            // Dividing by the GCD first avoids spurious overflows
+            long factor = n - kk + i;
+            long g = gcd(result, i);
+            long divisor = i / g;
+            try
+            {
+                result = Math.multiplyExact(result / g, factor / divisor);
+            }
+            catch (ArithmeticException e)
+            {
+                return -1;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Computes the greatest common divisor of the given positive values
+     * 
+     * @param a The first value
+     * @param b The second value
+     * @return The greatest common divisor
+     */
+    private static long gcd(long a, long b)
+    {
+        long x = a;
+        long y = b;
+        while (y != 0)
+        {
+            long t = x % y;
+            x = y;
+            y = t;
+        }
+        return x;
+    }
+    
+    /**
+     * Make sure that the given parameters are valid, and throw an 
+     * <code>IllegalArgumentException</code> if not.
+     * 
+     * @param n The number of elements
+     * @param p The size of the combinations
+     * @throws IllegalArgumentException If <code>n</code> is negative, or
+     * <code>p</code> is not in <code>[0, n]</code>
+     */
+    private static void validate(int n, int p)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException(
+                "The number of elements may not be negative, but is " + n);
+        }
+        if (p < 0 || p > n)
+        {
+            throw new IllegalArgumentException(
+                "The size of the combinations must be in [0, " + n 
+                + "], but is " + p);
+        }
+    }
+    
+    /**
+     * Make sure that the given rank is valid, and throw an 
+     * <code>IllegalArgumentException</code> if not.
+     * 
+     * @param rank The rank
+     * @param numCombinations The number of combinations
+     * @throws IllegalArgumentException If the rank is negative or not 
+     * smaller than the number of combinations
+     */
+    private static void validateRank(long rank, long numCombinations)
+    {
+        if (rank < 0 || rank >= numCombinations)
+        {
+            throw new IllegalArgumentException(
+                "The rank must be in [0, " + numCombinations 
+                + "), but is " + rank);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ListCombinations()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
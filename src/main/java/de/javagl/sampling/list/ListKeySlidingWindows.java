@@ -0,0 +1,348 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Methods to create streams of lists that are sliding window views on
+ * other lists, where the windows are not defined by a number of elements,
+ * but by a range of <i>keys</i> of the elements. For example, the key may
+ * be a time stamp, and each window may contain the elements from a
+ * certain time interval.<br>
+ * <br>
+ * All methods of this class assume that the given list is sorted by
+ * the key, in ascending order. If this is not the case, then the
+ * behavior is unspecified. The methods assume that the given list
+ * offers efficient random access.
+ */
+public class ListKeySlidingWindows
+{
+    /**
+     * Create a stream that contains lists that are a sliding window over
+     * the given input list, where each window contains the elements whose
+     * key is in a certain range. The lists will be returned in form of
+     * unmodifiable lists.<br>
+     * <br>
+     * The first window will contain all elements with keys in
+     * <code>[k, k + windowDuration)</code>, where <code>k</code> is the
+     * key of the first element. Each following window will be shifted
+     * by <code>stepDuration</code>. The last window will be the last one
+     * whose start is not larger than the key of the last element. This
+     * implies that windows may be empty, when there are gaps in the keys
+     * that are larger than the step duration.<br>
+     * <br>
+     * Examples:<br>
+     * <br>
+     * For a window duration of 10 and a step duration of 5, the method
+     * will behave as follows:
+     * <pre><code>
+     * keys    :  [ 0, 3, 7, 12, 13, 27 ]
+     * output  :
+     *            [ 0, 3, 7 ]                  (keys in [ 0, 10))
+     *                  [ 7, 12, 13 ]          (keys in [ 5, 15))
+     *                      [ 12, 13 ]         (keys in [10, 20))
+     *                               [ ]       (keys in [15, 25))
+     *                               [ 27 ]    (keys in [20, 30))
+     *                               [ 27 ]    (keys in [25, 35))
+     * </code></pre>
+     * <br>
+     * The windows are computed in a single pass over the list, with
+     * a total effort of <code>O(n + w)</code>, where <code>n</code> is
+     * the size of the list and <code>w</code> is the number of windows.<br>
+     * <br>
+     * If the given list is modified after the stream has been created,
+     * the behavior of the stream is unspecified.<br>
+     * <br>
+     * If the given list is modified after the windows have been obtained
+     * from the stream, the behavior of the windows is unspecified.<br>
+     * <br>
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param keyExtractor The function that provides the key of an element
+     * @param windowDuration The window duration
+     * @param stepDuration The step duration
+     * @return The stream
+     * @throws IllegalArgumentException If the window duration or the step
+     * duration is not positive
+     */
+    public static <T> Stream<List<T>> createKeySlidingWindow(
+        List<? extends T> input, ToLongFunction<? super T> keyExtractor,
+        long windowDuration, long stepDuration)
+    {
+        if (input.isEmpty())
+        {
+            return createKeySlidingWindow(input, keyExtractor,
+                0, 0, windowDuration, stepDuration);
+        }
+        long start = keyExtractor.applyAsLong(input.get(0));
+        long lastKey = keyExtractor.applyAsLong(input.get(input.size() - 1));
+        long maxStart = saturatedAdd(lastKey, 1);
+        return createKeySlidingWindow(input, keyExtractor,
+            start, maxStart, windowDuration, stepDuration);
+    }
+
+    /**
+     * Create a stream that contains lists that are a sliding window over
+     * the given input list, where each window contains the elements whose
+     * key is in a certain range. The lists will be returned in form of
+     * unmodifiable lists.<br>
+     * <br>
+     * The windows will contain the elements with keys in
+     * <code>[s, s + windowDuration)</code>, for all values
+     * <code>s = start + i * stepDuration</code> that are smaller than
+     * the given <code>maxStart</code> value.<br>
+     * <br>
+     * See {@link #createKeySlidingWindow(List, ToLongFunction, long, long)}
+     * for further details.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param keyExtractor The function that provides the key of an element
+     * @param start The start of the first window, inclusive
+     * @param maxStart The maximum start of a window, exclusive
+     * @param windowDuration The window duration
+     * @param stepDuration The step duration
+     * @return The stream
+     * @throws IllegalArgumentException If the window duration or the step
+     * duration is not positive
+     */
+    public static <T> Stream<List<T>> createKeySlidingWindow(
+        List<? extends T> input, ToLongFunction<? super T> keyExtractor,
+        long start, long maxStart, long windowDuration, long stepDuration)
+    {
+        Iterator<List<T>> iterator = createKeySlidingWindowIterator(
+            input, keyExtractor, start, maxStart,
+            windowDuration, stepDuration);
+        Spliterator<List<T>> spliterator =
+            Spliterators.spliteratorUnknownSize(iterator, 0);
+        Stream<List<T>> stream =
+            StreamSupport.stream(spliterator, false);
+        return stream;
+    }
+
+    /**
+     * Returns an unmodifiable view on the given list that contains all
+     * elements with keys in <code>[fromKey, toKey)</code>.<br>
+     * <br>
+     * The boundaries of the window are found with a binary search, with
+     * an effort of <code>O(log(n))</code>. This may be used to access
+     * single windows in random order.<br>
+     * <br>
+     * If the given list is modified after the window has been created,
+     * the behavior of the window is unspecified.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param keyExtractor The function that provides the key of an element
+     * @param fromKey The minimum key, inclusive
+     * @param toKey The maximum key, exclusive
+     * @return The window
+     */
+    public static <T> List<T> createKeyWindow(
+        List<? extends T> input, ToLongFunction<? super T> keyExtractor,
+        long fromKey, long toKey)
+    {
+        int fromIndex = lowerBound(
+            input, keyExtractor, fromKey, 0, input.size());
+        int toIndex = lowerBound(
+            input, keyExtractor, toKey, fromIndex, input.size());
+        return Collections.unmodifiableList(
+            input.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Creates the iterator for the key sliding window streams
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param keyExtractor The function that provides the key of an element
+     * @param start The start of the first window, inclusive
+     * @param maxStart The maximum start of a window, exclusive
+     * @param windowDuration The window duration
+     * @param stepDuration The step duration
+     * @return The iterator
+     * @throws IllegalArgumentException If the window duration or the step
+     * duration is not positive
+     */
+    private static <T> Iterator<List<T>> createKeySlidingWindowIterator(
+        List<? extends T> input, ToLongFunction<? super T> keyExtractor,
+        long start, long maxStart, long windowDuration, long stepDuration)
+    {
+        if (windowDuration <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The window duration must be positive, but is "
+                + windowDuration);
+        }
+        if (stepDuration <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The step duration must be positive, but is "
+                + stepDuration);
+        }
+        return new Iterator<List<T>>()
+        {
+            /**
+             * The start key of the window that will be returned next
+             */
+            private long currentStart = start;
+
+            /**
+             * Whether the computation of the start keys overflowed
+             */
+            private boolean overflow = false;
+
+            /**
+             * The index of the first element of the current window
+             */
+            private int fromIndex = 0;
+
+            /**
+             * The index after the last element of the current window
+             */
+            private int toIndex = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return !overflow && currentStart < maxStart;
+            }
+
+            @Override
+            public List<T> next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException("No more elements");
+                }
+                long currentEnd = saturatedAdd(currentStart, windowDuration);
+                int size = input.size();
+                while (fromIndex < size &&
+                    keyExtractor.applyAsLong(input.get(fromIndex))
+                    < currentStart)
+                {
+                    fromIndex++;
+                }
+                toIndex = Math.max(toIndex, fromIndex);
+                while (toIndex < size &&
+                    keyExtractor.applyAsLong(input.get(toIndex))
+                    < currentEnd)
+                {
+                    toIndex++;
+                }
+                List<T> result = Collections.unmodifiableList(
+                    input.subList(fromIndex, toIndex));
+                long nextStart = currentStart + stepDuration;
+                if (nextStart < currentStart)
+                {
+                    overflow = true;
+                }
+                currentStart = nextStart;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Returns the index of the first element in the specified range of
+     * the given list that has a key that is not smaller than the given
+     * key, or the <code>toIndex</code> if there is no such element.<br>
+     * <br>
+     * The list is assumed to be sorted by the keys.
+     *
+     * @param <T> The element type
+     *
+     * @param list The list
+     * @param keyExtractor The function that provides the key of an element
+     * @param key The key
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @return The index
+     */
+    static <T> int lowerBound(
+        List<? extends T> list, ToLongFunction<? super T> keyExtractor,
+        long key, int fromIndex, int toIndex)
+    {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            long midKey = keyExtractor.applyAsLong(list.get(mid));
+            if (midKey < key)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the sum of the given values, or <code>Long.MAX_VALUE</code>
+     * if the sum would overflow. The second value is assumed to be
+     * positive.
+     *
+     * @param a The first value
+     * @param b The second value
+     * @return The sum
+     */
+    private static long saturatedAdd(long a, long b)
+    {
+        long sum = a + b;
+        if (sum < a)
+        {
+            return Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ListKeySlidingWindows()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -29,6 +29,7 @@ package de.javagl.sampling.list;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -93,12 +94,7 @@ public class ListSamplers
     public static ListSampler createWithRelativeSize(
         double relativeSampleSize, Random random)
     {
-        if (relativeSampleSize <= 0.0 || relativeSampleSize > 1.0) 
-        {
-            throw new IllegalArgumentException(
-                "The relative sample size must be in (0.0, 1.0], but is "
-                + relativeSampleSize);
-        }
+        ListSampling.validateRelativeSampleSize(relativeSampleSize);
         return new ListSampler()
         {
             @Override
@@ -116,6 +112,41 @@ public class ListSamplers
         };
     }
 
+    /**
+     * Create a {@link ListSampler} where each sample consists of a 
+     * stratified random sample of the input list, as described in 
+     * {@link ListSampling#createStratifiedSample}. The size of each 
+     * sample will be the sum of <code>ceil(stratumSize * 
+     * relativeSampleSize)</code> over all strata.<br>
+     * <br>
+     * Since the element type of the lists that the sampler is applied to 
+     * is not known, the given key extractor has to accept arbitrary 
+     * objects.
+     * 
+     * @param relativeSampleSize The relative sample size
+     * @param keyExtractor The function that extracts the stratum key 
+     * from each element
+     * @param random The random number generator
+     * @return The {@link ListSampler}
+     * @throws IllegalArgumentException If the relative sample size is not
+     * in (0.0, 1.0]. 
+     */
+    public static ListSampler createStratifiedWithRelativeSize(
+        double relativeSampleSize, Function<Object, ?> keyExtractor, 
+        Random random)
+    {
+        ListSampling.validateRelativeSampleSize(relativeSampleSize);
+        return new ListSampler()
+        {
+            @Override
+            public <T> Stream<List<T>> createSamples(List<? extends T> input)
+            {
+                return ListSampling.createStratifiedSamples(
+                    input, keyExtractor, relativeSampleSize, random);
+            }
+        };
+    }
+
     /**
      * Create a {@link ListSampler} where each sample consists of a random 
      * sample of the input list. Each sample will have <b>at most</b>
@@ -131,12 +162,7 @@ public class ListSamplers
     public static ListSampler createWithAbsoluteSize(
         int absoluteSampleSize, Random random)
     {
-        if (absoluteSampleSize <= 0)
-        {
-            throw new IllegalArgumentException(
-                "The sample size must be positive, but is " 
-                + absoluteSampleSize);
-        }
+        validateAbsoluteSampleSize(absoluteSampleSize);
         return new ListSampler()
         {
             @Override
@@ -153,6 +179,212 @@ public class ListSamplers
         };
     }
     
+    /**
+     * Create a {@link ListSampler} where each sample consists of a 
+     * systematic sample of the input list, as described in 
+     * {@link ListSampling#createSystematicSample(List, int, Random)}. 
+     * Each sample will have <b>at most</b> the given absolute size. If 
+     * the resulting sampler is applied to a list that has a size that is 
+     * smaller than the given sample size, then the full list will be 
+     * returned.
+     * 
+     * @param absoluteSampleSize The absolute sample size
+     * @param random The random number generator
+     * @return The {@link ListSampler}
+     * @throws IllegalArgumentException If the sample size is not positive 
+     */
+    public static ListSampler createSystematic(
+        int absoluteSampleSize, Random random)
+    {
+        validateAbsoluteSampleSize(absoluteSampleSize);
+        return new ListSampler()
+        {
+            @Override
+            public <T> Stream<List<T>> createSamples(List<? extends T> input)
+            {
+                if (input.size() <= absoluteSampleSize) 
+                {
+                    return Stream.generate(() -> 
+                        Collections.unmodifiableList(input));
+                }
+                return Stream.generate(() -> 
+                    ListSampling.createSystematicSample(
+                        input, absoluteSampleSize, random));
+            }
+        };
+    }
+    
+    /**
+     * Create a {@link ListSampler} where each sample consists of a 
+     * circular systematic sample of the input list, as described in 
+     * {@link ListSampling#createCircularSystematicSample(List, int, Random)}.
+     * Each sample will have <b>at most</b> the given absolute size. If 
+     * the resulting sampler is applied to a list that has a size that is 
+     * smaller than the given sample size, then the full list will be 
+     * returned.
+     * 
+     * @param absoluteSampleSize The absolute sample size
+     * @param random The random number generator
+     * @return The {@link ListSampler}
+     * @throws IllegalArgumentException If the sample size is not positive 
+     */
+    public static ListSampler createCircularSystematic(
+        int absoluteSampleSize, Random random)
+    {
+        validateAbsoluteSampleSize(absoluteSampleSize);
+        return new ListSampler()
+        {
+            @Override
+            public <T> Stream<List<T>> createSamples(List<? extends T> input)
+            {
+                if (input.size() <= absoluteSampleSize) 
+                {
+                    return Stream.generate(() -> 
+                        Collections.unmodifiableList(input));
+                }
+                return Stream.generate(() -> 
+                    ListSampling.createCircularSystematicSample(
+                        input, absoluteSampleSize, random));
+            }
+        };
+    }
+    
+    /**
+     * Create a {@link ListSampler} where each sample consists of a 
+     * two-stage cluster sample of the input list, as described in 
+     * {@link ListSampling#createClusterSample(List, int, int, double, 
+     * Random)}: The input list is divided into the given number of 
+     * chunks, the given number of chunks is selected randomly, and a 
+     * random sample with the given relative size is taken from each 
+     * selected chunk.
+     * 
+     * @param numChunks The number of chunks
+     * @param numSelectedChunks The number of chunks to select
+     * @param relativeSampleSize The relative sample size within each
+     * selected chunk
+     * @param random The random number generator
+     * @return The {@link ListSampler}
+     * @throws IllegalArgumentException If the number of chunks is smaller 
+     * than 1, the number of selected chunks is not positive or larger 
+     * than the number of chunks, or the relative sample size is not in 
+     * (0.0, 1.0]
+     */
+    public static ListSampler createClustered(int numChunks, 
+        int numSelectedChunks, double relativeSampleSize, Random random)
+    {
+        if (numChunks < 1)
+        {
+            throw new IllegalArgumentException(
+                "The number of chunks must be at least 1, but is " 
+                + numChunks);
+        }
+        ListSampling.validateNumSelectedClusters(numSelectedChunks, numChunks);
+        ListSampling.validateRelativeSampleSize(relativeSampleSize);
+        return new ListSampler()
+        {
+            @Override
+            public <T> Stream<List<T>> createSamples(List<? extends T> input)
+            {
+                ChunkPartition partition = 
+                    new ChunkPartition(input.size(), numChunks);
+                return Stream.generate(() -> 
+                {
+                    int indices[] = ListSampling.createClusterSampleIndices(
+                        partition, numSelectedChunks, relativeSampleSize, 
+                        random);
+                    return ListViews.<T>createIndexView(input, indices);
+                });
+            }
+        };
+    }
+    
+    /**
+     * Create a {@link ListSampler} where each sample consists of a 
+     * two-stage cluster sample of the input list, as described in 
+     * {@link ListSampling#createClusterSample(List, Function, int, double, 
+     * Random)}: The elements with equal keys form the clusters, the 
+     * given number of clusters is selected randomly, and a random sample 
+     * with the given relative size is taken from each selected cluster.
+     * When the sampler is applied to a list that contains fewer distinct
+     * keys than the given number of clusters, then an 
+     * <code>IllegalArgumentException</code> will be thrown.<br>
+     * <br>
+     * Since the element type of the lists that the sampler is applied to 
+     * is not known, the given key extractor has to accept arbitrary 
+     * objects.
+     * 
+     * @param keyExtractor The function that extracts the cluster key 
+     * from each element
+     * @param numSelectedClusters The number of clusters to select
+     * @param relativeSampleSize The relative sample size within each
+     * selected cluster
+     * @param random The random number generator
+     * @return The {@link ListSampler}
+     * @throws IllegalArgumentException If the number of selected clusters
+     * is not positive, or the relative sample size is not in (0.0, 1.0]
+     */
+    public static ListSampler createClustered(
+        Function<Object, ?> keyExtractor, int numSelectedClusters, 
+        double relativeSampleSize, Random random)
+    {
+        ListSampling.validateNumSelectedClusters(numSelectedClusters);
+        ListSampling.validateRelativeSampleSize(relativeSampleSize);
+        return new ListSampler()
+        {
+            @Override
+            public <T> Stream<List<T>> createSamples(List<? extends T> input)
+            {
+                return ListSampling.createClusterSamples(input, keyExtractor, 
+                    numSelectedClusters, relativeSampleSize, random);
+            }
+        };
+    }
+    
+    /**
+     * Create a {@link ListSampler} where each sample consists of a 
+     * Bernoulli sample of the input list, as described in 
+     * {@link ListSampling#createBernoulliSample(List, double, Random)}:
+     * Each element of the input list is included in each sample 
+     * independently, with the given probability.
+     * 
+     * @param probability The probability for each element to be included
+     * @param random The random number generator
+     * @return The {@link ListSampler}
+     * @throws IllegalArgumentException If the probability is not in 
+     * [0.0, 1.0]
+     */
+    public static ListSampler createBernoulli(
+        double probability, Random random)
+    {
+        RandomUtils.validateProbability(probability);
+        return new ListSampler()
+        {
+            @Override
+            public <T> Stream<List<T>> createSamples(List<? extends T> input)
+            {
+                return Stream.generate(() -> 
+                    ListSampling.createBernoulliSample(
+                        input, probability, random));
+            }
+        };
+    }
+    
+    /**
+     * Make sure that the given absolute sample size is valid, and throw 
+     * an <code>IllegalArgumentException</code> if not.
+     * 
+     * @param absoluteSampleSize The absolute sample size
+     * @throws IllegalArgumentException If the sample size is not positive 
+     */
+    private static void validateAbsoluteSampleSize(int absoluteSampleSize)
+    {
+        if (absoluteSampleSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The sample size must be positive, but is " 
+                + absoluteSampleSize);
+        }
+    }
     
     /**
      * Private constructor to prevent instantiation
@@ -26,10 +26,11 @@
  */
 package de.javagl.sampling.list;
 
-import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -94,6 +95,543 @@ public class ListSampling
         return createView(list, indices);
     }
 
+    /**
+     * Creates a systematic sample from the given list, with the given 
+     * size.<br>
+     * <br>
+     * The sampling interval will be <code>k = list.size() / 
+     * sampleSize</code>. A random start index <code>s</code> in 
+     * <code>[0, k)</code> is chosen, and the sample will consist of the 
+     * elements at the indices <code>s + i * k</code>, for 
+     * <code>i</code> in <code>[0, sampleSize)</code>.<br>
+     * <br>
+     * The positions of the elements are computed arithmetically, so 
+     * creating the sample requires a single random number, and constant 
+     * memory, regardless of the sample size.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. This means that changes in the given list will affect the
+     * returned list. If the given list is structurally modified after
+     * it was passed to this method, the behavior of the returned list
+     * is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param sampleSize The size of the sample
+     * @param random The random number generator
+     * @return The systematic sample
+     * @throws IllegalArgumentException If the sample size is not 
+     * positive, or the sample size is larger than the list size
+     */
+    public static <T> List<T> createSystematicSample(
+        List<? extends T> list, int sampleSize, Random random)
+    {
+        validateSampleSize(sampleSize, list.size());
+        int interval = list.size() / sampleSize;
+        int start = random.nextInt(interval);
+        return StridedListView.create(
+            list, start, interval, sampleSize, false);
+    }
+    
+    /**
+     * Creates a circular systematic sample from the given list, with the 
+     * given size.<br>
+     * <br>
+     * The sampling interval will be <code>k = list.size() / 
+     * sampleSize</code>. A random start index <code>s</code> in 
+     * <code>[0, list.size())</code> is chosen, and the sample will consist 
+     * of the elements at the indices <code>(s + i * k) % list.size()</code>,
+     * for <code>i</code> in <code>[0, sampleSize)</code>. In contrast to 
+     * {@link #createSystematicSample(List, int, Random)}, each element of 
+     * the list has the same probability to be included in the sample, 
+     * even when the list size is not divisible by the sample size.<br>
+     * <br>
+     * The positions of the elements are computed arithmetically, so 
+     * creating the sample requires a single random number, and constant 
+     * memory, regardless of the sample size.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. This means that changes in the given list will affect the
+     * returned list. If the given list is structurally modified after
+     * it was passed to this method, the behavior of the returned list
+     * is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param sampleSize The size of the sample
+     * @param random The random number generator
+     * @return The circular systematic sample
+     * @throws IllegalArgumentException If the sample size is not 
+     * positive, or the sample size is larger than the list size
+     */
+    public static <T> List<T> createCircularSystematicSample(
+        List<? extends T> list, int sampleSize, Random random)
+    {
+        validateSampleSize(sampleSize, list.size());
+        int interval = list.size() / sampleSize;
+        int start = random.nextInt(list.size());
+        return CircularStridedListView.create(
+            list, start, interval, sampleSize);
+    }
+
+    /**
+     * Creates a Bernoulli sample from the given list. Each element of the
+     * list is included in the sample independently, with the given 
+     * probability. So the size of the sample is not fixed, but expected 
+     * to be <code>list.size() * probability</code>.<br>
+     * <br>
+     * The sample is not created by drawing one random number for each
+     * element. Instead, the gaps between the selected elements are drawn 
+     * from a geometric distribution. So the effort for creating the sample
+     * is linear in the size of the sample, and not in the size of the 
+     * list.<br>
+     * <br>
+     * The returned list will contain the selected elements in the order 
+     * in which they appear in the given list.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. This means that changes in the given list will affect the
+     * returned list. If the given list is structurally modified after
+     * it was passed to this method, the behavior of the returned list
+     * is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param probability The probability for each element to be included
+     * @param random The random number generator
+     * @return The Bernoulli sample
+     * @throws IllegalArgumentException If the probability is not in 
+     * [0.0, 1.0]
+     */
+    public static <T> List<T> createBernoulliSample(
+        List<? extends T> list, double probability, Random random)
+    {
+        int indices[] = 
+            RandomUtils.bernoulliSample(list.size(), probability, random);
+        return createView(list, indices);
+    }
+    
+    /**
+     * Creates a stratified random sample from the given list.<br>
+     * <br>
+     * The elements of the list are grouped into strata, where elements 
+     * with equal keys belong to the same stratum. From each stratum, 
+     * <code>ceil(stratumSize * relativeSampleSize)</code> distinct 
+     * elements are selected randomly. So the proportions of the strata 
+     * in the sample are approximately the same as in the given list.<br>
+     * <br>
+     * The returned list will contain the selected elements grouped by 
+     * stratum, in random order within each stratum. The strata will 
+     * appear in the order in which their keys first appear in the given
+     * list.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. This means that changes in the given list will affect the
+     * returned list. If the given list is structurally modified after
+     * it was passed to this method, the behavior of the returned list
+     * is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param keyExtractor The function that extracts the stratum key 
+     * from each element
+     * @param relativeSampleSize The relative sample size
+     * @param random The random number generator
+     * @return The random sample
+     * @throws IllegalArgumentException If the relative sample size is not
+     * in (0.0, 1.0]. 
+     */
+    public static <T> List<T> createStratifiedSample(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        double relativeSampleSize, Random random)
+    {
+        validateRelativeSampleSize(relativeSampleSize);
+        Stratification stratification = 
+            Stratification.create(list, keyExtractor);
+        int indices[] = stratification.createSample(
+            relativeSampleSize, random);
+        return createView(list, indices);
+    }
+    
+    /**
+     * Creates a stream that provides stratified random samples from the 
+     * given list, as described in 
+     * {@link #createStratifiedSample(List, Function, double, Random)}.<br>
+     * <br>
+     * The stratification is computed once, when this method is called, 
+     * and used for all samples.
+     * 
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The input list
+     * @param keyExtractor The function that extracts the stratum key 
+     * from each element
+     * @param relativeSampleSize The relative sample size
+     * @param random The random number generator
+     * @return The stream
+     * @throws IllegalArgumentException If the relative sample size is not
+     * in (0.0, 1.0]. 
+     */
+    public static <T> Stream<List<T>> createStratifiedSamples(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        double relativeSampleSize, Random random)
+    {
+        validateRelativeSampleSize(relativeSampleSize);
+        Stratification stratification = 
+            Stratification.create(list, keyExtractor);
+        return Stream.generate(() -> 
+        {
+            int indices[] = stratification.createSample(
+                relativeSampleSize, random);
+            return createView(list, indices);
+        });
+    }
+    
+    /**
+     * Creates a two-stage cluster sample from the given list.<br>
+     * <br>
+     * The list is divided into the given number of chunks, as described 
+     * in {@link ListSplitting#extractChunks}. In the first stage, the 
+     * given number of chunks is selected randomly. In the second stage, 
+     * <code>ceil(chunkSize * relativeSampleSize)</code> distinct elements 
+     * are selected randomly from each selected chunk.<br>
+     * <br>
+     * The returned list will contain the selected elements in the order 
+     * in which they appear in the given list. Since the elements are 
+     * only taken from the selected chunks, the accesses to the given 
+     * list are confined to a few contiguous ranges.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. This means that changes in the given list will affect the
+     * returned list. If the given list is structurally modified after
+     * it was passed to this method, the behavior of the returned list
+     * is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param numChunks The number of chunks
+     * @param numSelectedChunks The number of chunks to select
+     * @param relativeSampleSize The relative sample size within each
+     * selected chunk
+     * @param random The random number generator
+     * @return The cluster sample
+     * @throws IllegalArgumentException If the number of chunks is smaller 
+     * than 1, the number of selected chunks is not positive or larger 
+     * than the number of chunks, or the relative sample size is not in 
+     * (0.0, 1.0]
+     */
+    public static <T> List<T> createClusterSample(
+        List<? extends T> list, int numChunks, int numSelectedChunks, 
+        double relativeSampleSize, Random random)
+    {
+        ChunkPartition partition = new ChunkPartition(list.size(), numChunks);
+        validateNumSelectedClusters(numSelectedChunks, numChunks);
+        validateRelativeSampleSize(relativeSampleSize);
+        int indices[] = createClusterSampleIndices(
+            partition, numSelectedChunks, relativeSampleSize, random);
+        return createView(list, indices);
+    }
+    
+    /**
+     * Creates a two-stage cluster sample from the given list, where the
+     * clusters are given by keys of the elements.<br>
+     * <br>
+     * The elements of the list are grouped into clusters, where elements 
+     * with equal keys belong to the same cluster. In the first stage, the
+     * given number of clusters is selected randomly. In the second stage, 
+     * <code>ceil(clusterSize * relativeSampleSize)</code> distinct 
+     * elements are selected randomly from each selected cluster.<br>
+     * <br>
+     * The returned list will contain the selected elements grouped by 
+     * cluster. The clusters will appear in the order in which their keys 
+     * first appear in the given list, and the elements of each cluster 
+     * will appear in the order in which they appear in the given list.<br>
+     * <br>
+     * The returned list will be an unmodifiable <i>view</i> on the given 
+     * list. This means that changes in the given list will affect the
+     * returned list. If the given list is structurally modified after
+     * it was passed to this method, the behavior of the returned list
+     * is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param keyExtractor The function that extracts the cluster key 
+     * from each element
+     * @param numSelectedClusters The number of clusters to select
+     * @param relativeSampleSize The relative sample size within each
+     * selected cluster
+     * @param random The random number generator
+     * @return The cluster sample
+     * @throws IllegalArgumentException If the number of selected clusters
+     * is not positive or larger than the number of distinct keys, or the 
+     * relative sample size is not in (0.0, 1.0]
+     */
+    public static <T> List<T> createClusterSample(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        int numSelectedClusters, double relativeSampleSize, Random random)
+    {
+        validateRelativeSampleSize(relativeSampleSize);
+        Stratification stratification = 
+            Stratification.create(list, keyExtractor);
+        validateNumSelectedClusters(
+            numSelectedClusters, stratification.getNumStrata());
+        int indices[] = stratification.createClusterSample(
+            numSelectedClusters, relativeSampleSize, random);
+        return createView(list, indices);
+    }
+    
+    /**
+     * Creates a stream that provides two-stage cluster samples from the 
+     * given list, as described in {@link #createClusterSample(List, 
+     * Function, int, double, Random)}.<br>
+     * <br>
+     * The clusters are computed once, when this method is called, and 
+     * used for all samples.
+     * 
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The input list
+     * @param keyExtractor The function that extracts the cluster key 
+     * from each element
+     * @param numSelectedClusters The number of clusters to select
+     * @param relativeSampleSize The relative sample size within each
+     * selected cluster
+     * @param random The random number generator
+     * @return The stream
+     * @throws IllegalArgumentException If the number of selected clusters
+     * is not positive or larger than the number of distinct keys, or the 
+     * relative sample size is not in (0.0, 1.0]
+     */
+    public static <T> Stream<List<T>> createClusterSamples(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        int numSelectedClusters, double relativeSampleSize, Random random)
+    {
+        validateRelativeSampleSize(relativeSampleSize);
+        Stratification stratification = 
+            Stratification.create(list, keyExtractor);
+        validateNumSelectedClusters(
+            numSelectedClusters, stratification.getNumStrata());
+        return Stream.generate(() -> 
+        {
+            int indices[] = stratification.createClusterSample(
+                numSelectedClusters, relativeSampleSize, random);
+            return createView(list, indices);
+        });
+    }
+    
+    /**
+     * Creates the indices of a two-stage cluster sample, where the 
+     * clusters are the chunks of the given partition. The parameters
+     * are assumed to be valid.
+     * 
+     * @param partition The partition
+     * @param numSelectedChunks The number of chunks to select
+     * @param relativeSampleSize The relative sample size within each
+     * selected chunk
+     * @param random The random number generator
+     * @return The indices, in ascending order
+     */
+    static int[] createClusterSampleIndices(ChunkPartition partition, 
+        int numSelectedChunks, double relativeSampleSize, Random random)
+    {
+        int chunks[] = RandomUtils.randomSortedSample(
+            numSelectedChunks, 0, partition.getNumChunks(), random);
+        int sampleSizes[] = new int[numSelectedChunks];
+        int totalSize = 0;
+        for (int i = 0; i < numSelectedChunks; i++)
+        {
+            int chunkSize = partition.getChunkSize(chunks[i]);
+            sampleSizes[i] = (int)Math.ceil(chunkSize * relativeSampleSize);
+            totalSize += sampleSizes[i];
+        }
+        int result[] = new int[totalSize];
+        int position = 0;
+        for (int i = 0; i < numSelectedChunks; i++)
+        {
+            int sample[] = RandomUtils.randomSortedSample(sampleSizes[i], 
+                partition.getFromIndex(chunks[i]), 
+                partition.getToIndex(chunks[i]), random);
+            System.arraycopy(sample, 0, result, position, sample.length);
+            position += sample.length;
+        }
+        return result;
+    }
+    
+    /**
+     * Randomly splits the given list into disjoint parts, whose sizes 
+     * have the given ratios.<br>
+     * <br>
+     * The ratios do not have to sum up to 1.0. The size of each part 
+     * will be the size of the list, multiplied with the ratio of this 
+     * part and divided by the sum of all ratios. These sizes are rounded
+     * so that they sum up to the size of the list, and each size differs 
+     * by less than 1 from the exact value. For example, ratios of
+     * <code>{ 0.7, 0.15, 0.15 }</code> will create a training, validation
+     * and testing list.<br>
+     * <br>
+     * The split is computed with a single partial shuffle of the indices 
+     * of the list, which only draws random numbers for all parts except 
+     * for the last one. The elements of all parts except for the last 
+     * one will appear in random order. The last part consists of the 
+     * remaining elements, in an unspecified order.<br>
+     * <br>
+     * The returned lists will be unmodifiable <i>views</i> on the given 
+     * list, which share a single array of indices. Changes in the given 
+     * list will affect the returned lists. If the given list is 
+     * structurally modified after it was passed to this method, the 
+     * behavior of the returned lists is undefined.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param ratios The ratios of the sizes of the parts
+     * @param random The random number generator
+     * @return The list containing the parts
+     * @throws IllegalArgumentException If the ratios are empty, or any 
+     * ratio is negative or not finite, or the sum of all ratios is not
+     * positive
+     */
+    public static <T> List<List<T>> createRandomSplit(
+        List<? extends T> list, double ratios[], Random random)
+    {
+        int boundaries[] = computeSplitBoundaries(list.size(), ratios);
+        return createRandomSplit(list, boundaries, random);
+    }
+    
+    /**
+     * Creates a stream that provides random splits of the given list, 
+     * as described in {@link #createRandomSplit(List, double[], Random)}.
+     * This may be used for repeated random subsampling validation 
+     * (Monte Carlo cross-validation).
+     * 
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param ratios The ratios of the sizes of the parts
+     * @param random The random number generator
+     * @return The stream
+     * @throws IllegalArgumentException If the ratios are empty, or any 
+     * ratio is negative or not finite, or the sum of all ratios is not
+     * positive
+     */
+    public static <T> Stream<List<List<T>>> createRandomSplits(
+        List<? extends T> list, double ratios[], Random random)
+    {
+        int boundaries[] = computeSplitBoundaries(list.size(), ratios);
+        return Stream.generate(() -> 
+            createRandomSplit(list, boundaries, random));
+    }
+    
+    /**
+     * Randomly splits the given list into parts with the given boundaries
+     * 
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param boundaries The boundaries of the parts, as computed with
+     * {@link #computeSplitBoundaries(int, double[])}
+     * @param random The random number generator
+     * @return The list containing the parts
+     */
+    private static <T> List<List<T>> createRandomSplit(
+        List<? extends T> list, int boundaries[], Random random)
+    {
+        int numParts = boundaries.length - 1;
+        int indices[] = RandomUtils.partialPermutation(
+            list.size(), boundaries[numParts - 1], random);
+        List<T> permutedList = createView(list, indices);
+        List<List<T>> parts = new ArrayList<List<T>>(numParts);
+        for (int i = 0; i < numParts; i++)
+        {
+            parts.add(ListViews.createRangeView(
+                permutedList, boundaries[i], boundaries[i + 1]));
+        }
+        return Collections.unmodifiableList(parts);
+    }
+    
+    /**
+     * Computes the boundaries of the parts of a list with the given size,
+     * when it is split into parts with the given ratios. The result will 
+     * be an array with a length of <code>ratios.length + 1</code>, where 
+     * the first element is 0 and the last element is the list size.
+     * 
+     * @param listSize The list size
+     * @param ratios The ratios
+     * @return The boundaries
+     * @throws IllegalArgumentException If the ratios are empty, or any 
+     * ratio is negative or not finite, or the sum of all ratios is not
+     * positive
+     */
+    private static int[] computeSplitBoundaries(int listSize, double ratios[])
+    {
+        if (ratios.length == 0)
+        {
+            throw new IllegalArgumentException(
+                "At least one ratio must be given");
+        }
+        double sum = 0.0;
+        for (double ratio : ratios)
+        {
+            if (ratio < 0.0 || !Double.isFinite(ratio))
+            {
+                throw new IllegalArgumentException(
+                    "The ratios must be non-negative, but one ratio is " 
+                    + ratio);
+            }
+            sum += ratio;
+        }
+        if (sum <= 0.0)
+        {
+            throw new IllegalArgumentException(
+                "The sum of the ratios must be positive, but is " + sum);
+        }
+        int boundaries[] = new int[ratios.length + 1];
+        double cumulative = 0.0;
+        for (int i = 0; i < ratios.length - 1; i++)
+        {
+            cumulative += ratios[i];
+            long boundary = Math.round(listSize * (cumulative / sum));
+            boundaries[i + 1] = (int)Math.min(boundary, listSize);
+        }
+        boundaries[ratios.length] = listSize;
+        return boundaries;
+    }
+    
+    /**
+     * Creates a random permutation of the given list.<br>
+     * <br>
+     * The returned list will contain all elements of the given list, in
+     * random order. It will be an unmodifiable <i>view</i> on the given 
+     * list, which only stores the permuted indices, and does not copy 
+     * the elements. Changes in the given list will affect the returned 
+     * list. If the given list is structurally modified after it was 
+     * passed to this method, the behavior of the returned list is 
+     * undefined.<br>
+     * <br>
+     * Views that are created from the returned list with the methods 
+     * of the {@link ListSplitting} class will share the permuted 
+     * indices of the returned list. So the permutation may, for example,
+     * be used for creating shuffled chunks of the given list.
+     *  
+     * @param <T> The type of the elements in the list
+     * 
+     * @param list The list
+     * @param random The random number generator
+     * @return The random permutation
+     */
+    public static <T> List<T> createPermutation(
+        List<? extends T> list, Random random)
+    {
+        int indices[] = RandomUtils.randomPermutation(list.size(), random);
+        return createView(list, indices);
+    }
+
     /**
      * Create a list that is an unmodifiable <i>view</i> on the elements 
      * in the given list that have the given indices.<br>
@@ -110,21 +648,7 @@ public class ListSampling
     private static <T> List<T> createView(
         List<? extends T> input, int indices[])
     {
-        return new AbstractList<T>()
-        {
-            @Override
-            public T get(int index)
-            {
-                int inputIndex = indices[index];
-                return input.get(inputIndex);
-            }
-
-            @Override
-            public int size()
-            {
-                return indices.length;
-            }
-        };
+        return ListViews.createIndexView(input, indices);
     }
 
     /**
@@ -151,6 +675,64 @@ public class ListSampling
         }
     }
     
+    /**
+     * Make sure that the given number of selected clusters is positive, 
+     * and throw an <code>IllegalArgumentException</code> if not.
+     * 
+     * @param numSelectedClusters The number of selected clusters
+     * @throws IllegalArgumentException If the number of selected clusters
+     * is not positive
+     */
+    static void validateNumSelectedClusters(int numSelectedClusters)
+    {
+        if (numSelectedClusters <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The number of selected clusters must be positive, but is " 
+                + numSelectedClusters);
+        }
+    }
+    
+    /**
+     * Make sure that the given number of selected clusters is valid for 
+     * the given number of clusters, and throw an 
+     * <code>IllegalArgumentException</code> if not.
+     * 
+     * @param numSelectedClusters The number of selected clusters
+     * @param numClusters The number of clusters
+     * @throws IllegalArgumentException If the number of selected clusters
+     * is not positive or larger than the number of clusters
+     */
+    static void validateNumSelectedClusters(
+        int numSelectedClusters, int numClusters)
+    {
+        validateNumSelectedClusters(numSelectedClusters);
+        if (numSelectedClusters > numClusters)
+        {
+            throw new IllegalArgumentException(
+                "Can not select " + numSelectedClusters 
+                + " clusters from " + numClusters + " clusters");
+        }
+    }
+    
+    /**
+     * Make sure that the given relative sample size is valid, and throw 
+     * an <code>IllegalArgumentException</code> if not.
+     * 
+     * @param relativeSampleSize The relative sample size
+     * @throws IllegalArgumentException If the relative sample size is not
+     * in (0.0, 1.0]. 
+     */
+    static void validateRelativeSampleSize(double relativeSampleSize)
+    {
+        if (relativeSampleSize <= 0.0 || relativeSampleSize > 1.0) 
+        {
+            throw new IllegalArgumentException(
+                "The relative sample size must be in (0.0, 1.0], but is "
+                + relativeSampleSize);
+        }
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
@@ -0,0 +1,277 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Methods to create streams of lists that are "session" windows on other
+ * lists. A session is a sequence of consecutive elements of the list, where
+ * the difference between the keys of neighboring elements is not larger
+ * than a certain gap.<br>
+ * <br>
+ * All methods of this class assume that the given list is sorted by
+ * the key, in ascending order. If this is not the case, then the
+ * behavior is unspecified. The methods assume that the given list
+ * offers efficient random access.
+ */
+public class ListSessionWindows
+{
+    /**
+     * Create a stream that contains lists that are the sessions of the
+     * given input list. The lists will be returned in form of unmodifiable
+     * lists.<br>
+     * <br>
+     * A new session is started at each element whose key is larger than
+     * the key of the previous element plus the given maximum gap.<br>
+     * <br>
+     * Examples:<br>
+     * <br>
+     * For a maximum gap of 2, the method will behave as follows:
+     * <pre><code>
+     * keys    :  [ 0, 1, 3, 7, 8, 12 ]
+     * output  :
+     *            [ 0, 1, 3 ]
+     *                     [ 7, 8 ]
+     *                            [ 12 ]
+     * </code></pre>
+     * <br>
+     * The sessions are computed lazily, while the stream is traversed.
+     * The stream may be processed in parallel. In this case, the list
+     * will be split at session boundaries, so that each session is
+     * still computed in a single pass over its elements.<br>
+     * <br>
+     * If the given list is modified after the stream has been created,
+     * the behavior of the stream is unspecified.<br>
+     * <br>
+     * If the given list is modified after the sessions have been obtained
+     * from the stream, the behavior of the sessions is unspecified.<br>
+     * <br>
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param keyExtractor The function that provides the key of an element
+     * @param maxGap The maximum gap between the keys of two consecutive
+     * elements of one session
+     * @return The stream
+     * @throws IllegalArgumentException If the maximum gap is negative
+     */
+    public static <T> Stream<List<T>> createSessionWindows(
+        List<? extends T> input, ToLongFunction<? super T> keyExtractor,
+        long maxGap)
+    {
+        if (maxGap < 0)
+        {
+            throw new IllegalArgumentException(
+                "The maximum gap may not be negative, but is " + maxGap);
+        }
+        Spliterator<List<T>> spliterator = new SessionSpliterator<T>(
+            input, keyExtractor, maxGap, 0, input.size());
+        Stream<List<T>> stream =
+            StreamSupport.stream(spliterator, false);
+        return stream;
+    }
+
+    /**
+     * Implementation of a spliterator that provides the sessions of a
+     * range of a list. The boundaries of the range are always session
+     * boundaries.
+     *
+     * @param <T> The element type
+     */
+    private static class SessionSpliterator<T> implements Spliterator<List<T>>
+    {
+        /**
+         * The input list
+         */
+        private final List<? extends T> input;
+
+        /**
+         * The key extractor
+         */
+        private final ToLongFunction<? super T> keyExtractor;
+
+        /**
+         * The maximum gap
+         */
+        private final long maxGap;
+
+        /**
+         * The start index of the next session, inclusive
+         */
+        private int fromIndex;
+
+        /**
+         * The end index of the range, exclusive
+         */
+        private final int toIndex;
+
+        /**
+         * Creates a new instance
+         *
+         * @param input The input list
+         * @param keyExtractor The key extractor
+         * @param maxGap The maximum gap
+         * @param fromIndex The start index, inclusive
+         * @param toIndex The end index, exclusive
+         */
+        SessionSpliterator(
+            List<? extends T> input, ToLongFunction<? super T> keyExtractor,
+            long maxGap, int fromIndex, int toIndex)
+        {
+            this.input = input;
+            this.keyExtractor = keyExtractor;
+            this.maxGap = maxGap;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        /**
+         * Returns the index of the first element in the range
+         * <code>[index, toIndex)</code> that starts a new session, or
+         * <code>toIndex</code> if there is no such element. The given
+         * index must be positive.
+         *
+         * @param index The index
+         * @return The index of the next session start
+         */
+        private int findSessionStart(int index)
+        {
+            int i = index;
+            long previousKey = keyExtractor.applyAsLong(input.get(i - 1));
+            while (i < toIndex)
+            {
+                long key = keyExtractor.applyAsLong(input.get(i));
+                if (key - previousKey > maxGap)
+                {
+                    return i;
+                }
+                previousKey = key;
+                i++;
+            }
+            return toIndex;
+        }
+
+        /**
+         * Returns the index of the last element in the range
+         * <code>(fromIndex, index]</code> that starts a new session, or
+         * <code>fromIndex</code> if there is no such element.
+         *
+         * @param index The index
+         * @return The index of the previous session start
+         */
+        private int findPreviousSessionStart(int index)
+        {
+            int i = index;
+            if (i <= fromIndex)
+            {
+                return fromIndex;
+            }
+            long key = keyExtractor.applyAsLong(input.get(i));
+            while (i > fromIndex)
+            {
+                long previousKey = 
+                    keyExtractor.applyAsLong(input.get(i - 1));
+                if (key - previousKey > maxGap)
+                {
+                    return i;
+                }
+                key = previousKey;
+                i--;
+            }
+            return fromIndex;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<T>> action)
+        {
+            if (fromIndex >= toIndex)
+            {
+                return false;
+            }
+            int endIndex = findSessionStart(fromIndex + 1);
+            List<T> session = Collections.unmodifiableList(
+                input.subList(fromIndex, endIndex));
+            fromIndex = endIndex;
+            action.accept(session);
+            return true;
+        }
+
+        @Override
+        public Spliterator<List<T>> trySplit()
+        {
+            int middle = (fromIndex + toIndex) >>> 1;
+            if (middle <= fromIndex)
+            {
+                return null;
+            }
+            // Search for a session start after the middle, and when there
+            // is none, search before the middle, so that a long session
+            // at the end of the range does not prevent the split
+            int splitIndex = findSessionStart(middle);
+            if (splitIndex >= toIndex)
+            {
+                splitIndex = findPreviousSessionStart(middle - 1);
+                if (splitIndex <= fromIndex)
+                {
+                    return null;
+                }
+            }
+            Spliterator<List<T>> prefix = new SessionSpliterator<T>(
+                input, keyExtractor, maxGap, fromIndex, splitIndex);
+            fromIndex = splitIndex;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return toIndex - fromIndex;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ListSessionWindows()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Methods to write the sliding windows of a list into flat primitive
+ * arrays or buffers.<br>
+ * <br>
+ * The windows are described by a window size, a step size and a
+ * dilation. The window with index <code>w</code> consists of the elements
+ * at the indices
+ * <pre><code>
+ * w * stepSize + j * dilation,  for j = 0 ... windowSize - 1
+ * </code></pre>
+ * of the input list. Only windows that are completely contained in the
+ * input list are considered. The windows are written into the target
+ * as the rows of a dense, row-major matrix with
+ * <code>numWindows</code> rows and <code>windowSize</code> columns.
+ * The number of windows may be obtained with
+ * {@link #computeNumWindows(int, int, int, int)}.<br>
+ * <br>
+ * For example, for a window size of 3, a step size of 2 and a dilation
+ * of 2, the method will behave as follows:
+ * <pre><code>
+ * input   :  [ 0, 1, 2, 3, 4, 5, 6, 7, 8 ]
+ * output  :  [ 0, 2, 4,
+ *              2, 4, 6,
+ *              4, 6, 8 ]
+ * </code></pre>
+ * <br>
+ * The values of the elements are obtained with a given function. Each
+ * element of the input list is only passed to this function once, even
+ * when the windows overlap.
+ * <br>
+ * When a zero-copy view on the windows is sufficient, then
+ * {@link ListSlidingWindows#createDilatedSlidingWindow} may be used.
+ */
+public class ListSlidingWindowBuffers
+{
+    /**
+     * Computes the number of windows for the given parameters
+     *
+     * @param inputSize The size of the input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @return The number of windows
+     * @throws IllegalArgumentException If the window size, step size or
+     * dilation is not positive
+     */
+    public static int computeNumWindows(
+        int inputSize, int windowSize, int stepSize, int dilation)
+    {
+        validate(windowSize, stepSize, dilation);
+        long span = (long)(windowSize - 1) * dilation + 1;
+        if (span > inputSize)
+        {
+            return 0;
+        }
+        return (int)((inputSize - span) / stepSize + 1);
+    }
+
+    /**
+     * Write the sliding windows of the given list into the given array,
+     * starting at the given offset. See the class documentation for
+     * details.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param valueFunction The function that provides the value for an
+     * element
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @param target The target array
+     * @param targetOffset The offset in the target array
+     * @return The number of windows that have been written
+     * @throws IllegalArgumentException If the window size, step size or
+     * dilation is not positive, the target offset is negative, or the 
+     * target array does not have enough space for all windows
+     */
+    public static <T> int writeWindows(
+        List<? extends T> input, ToDoubleFunction<? super T> valueFunction,
+        int windowSize, int stepSize, int dilation,
+        double target[], int targetOffset)
+    {
+        int numWindows = computeNumWindows(
+            input.size(), windowSize, stepSize, dilation);
+        validateTarget(target.length, targetOffset, numWindows, windowSize);
+        writeRows(input, valueFunction, 
+            numWindows, windowSize, stepSize, dilation, 
+            (window, row) -> System.arraycopy(row, 0, 
+                target, targetOffset + window * windowSize, windowSize));
+        return numWindows;
+    }
+
+    /**
+     * Write the sliding windows of the given list into the given array,
+     * starting at the given offset. See the class documentation for
+     * details.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param valueFunction The function that provides the value for an
+     * element. The values will be converted to <code>float</code>.
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @param target The target array
+     * @param targetOffset The offset in the target array
+     * @return The number of windows that have been written
+     * @throws IllegalArgumentException If the window size, step size or
+     * dilation is not positive, the target offset is negative, or the 
+     * target array does not have enough space for all windows
+     */
+    public static <T> int writeWindows(
+        List<? extends T> input, ToDoubleFunction<? super T> valueFunction,
+        int windowSize, int stepSize, int dilation,
+        float target[], int targetOffset)
+    {
+        int numWindows = computeNumWindows(
+            input.size(), windowSize, stepSize, dilation);
+        validateTarget(target.length, targetOffset, numWindows, windowSize);
+        writeRows(input, valueFunction, 
+            numWindows, windowSize, stepSize, dilation, 
+            (window, row) -> 
+            {
+                int offset = targetOffset + window * windowSize;
+                for (int j = 0; j < windowSize; j++)
+                {
+                    target[offset + j] = (float)row[j];
+                }
+            });
+        return numWindows;
+    }
+
+    /**
+     * Write the sliding windows of the given list into the given buffer,
+     * as <code>double</code> values, starting at the current position of
+     * the buffer, and using the byte order of the buffer. The position
+     * of the buffer will be advanced accordingly. See the class
+     * documentation for details.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param valueFunction The function that provides the value for an
+     * element
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @param target The target buffer
+     * @return The number of windows that have been written
+     * @throws IllegalArgumentException If the window size, step size or
+     * dilation is not positive, or the target buffer does not have enough
+     * remaining space for all windows
+     */
+    public static <T> int writeWindowsAsDoubles(
+        List<? extends T> input, ToDoubleFunction<? super T> valueFunction,
+        int windowSize, int stepSize, int dilation, ByteBuffer target)
+    {
+        int numWindows = computeNumWindows(
+            input.size(), windowSize, stepSize, dilation);
+        DoubleBuffer doubleTarget = target.asDoubleBuffer();
+        validateTarget(doubleTarget.remaining(), 0, numWindows, windowSize);
+        writeRows(input, valueFunction, 
+            numWindows, windowSize, stepSize, dilation, 
+            (window, row) -> doubleTarget.put(row, 0, windowSize));
+        Buffer targetBuffer = target;
+        targetBuffer.position(
+            target.position() + numWindows * windowSize * 8);
+        return numWindows;
+    }
+
+    /**
+     * Write the sliding windows of the given list into the given buffer,
+     * as <code>float</code> values, starting at the current position of
+     * the buffer, and using the byte order of the buffer. The position
+     * of the buffer will be advanced accordingly. See the class
+     * documentation for details.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param valueFunction The function that provides the value for an
+     * element. The values will be converted to <code>float</code>.
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @param target The target buffer
+     * @return The number of windows that have been written
+     * @throws IllegalArgumentException If the window size, step size or
+     * dilation is not positive, or the target buffer does not have enough
+     * remaining space for all windows
+     */
+    public static <T> int writeWindowsAsFloats(
+        List<? extends T> input, ToDoubleFunction<? super T> valueFunction,
+        int windowSize, int stepSize, int dilation, ByteBuffer target)
+    {
+        int numWindows = computeNumWindows(
+            input.size(), windowSize, stepSize, dilation);
+        FloatBuffer floatTarget = target.asFloatBuffer();
+        validateTarget(floatTarget.remaining(), 0, numWindows, windowSize);
+        float floatRow[] = new float[windowSize];
+        writeRows(input, valueFunction, 
+            numWindows, windowSize, stepSize, dilation, 
+            (window, row) -> 
+            {
+                for (int j = 0; j < windowSize; j++)
+                {
+                    floatRow[j] = (float)row[j];
+                }
+                floatTarget.put(floatRow, 0, windowSize);
+            });
+        Buffer targetBuffer = target;
+        targetBuffer.position(
+            target.position() + numWindows * windowSize * 4);
+        return numWindows;
+    }
+
+    /**
+     * Interface for a target that the rows of the output may be written to
+     */
+    private static interface RowTarget
+    {
+        /**
+         * Write the given row, which contains the values of the window
+         * with the given index. The windows are passed to this method
+         * in ascending order. The given array will be reused for the 
+         * following rows.
+         * 
+         * @param window The index of the window
+         * @param row The values of the window
+         */
+        void put(int window, double row[]);
+    }
+
+    /**
+     * Pass the rows of values for all windows to the given target, in a 
+     * single pass over the list. Each element of the list that appears in 
+     * any of the windows is passed to the value function once. Elements 
+     * that do not appear in any window are skipped. The values are kept
+     * in a ring buffer that covers the span of one window, and each row 
+     * is assembled as soon as the last element of its window was read.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input list
+     * @param valueFunction The value function
+     * @param numWindows The number of windows
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @param target The target for the rows
+     */
+    private static <T> void writeRows(
+        List<? extends T> input, ToDoubleFunction<? super T> valueFunction,
+        int numWindows, int windowSize, int stepSize, int dilation,
+        RowTarget target)
+    {
+        if (numWindows == 0)
+        {
+            return;
+        }
+        int maxOffset = (windowSize - 1) * dilation;
+        int span = maxOffset + 1;
+        double values[] = new double[span];
+        double row[] = new double[windowSize];
+        int size = (numWindows - 1) * stepSize + span;
+        int windowDelta = dilation / gcd(stepSize, dilation);
+        int nextWindow = 0;
+        Iterator<? extends T> iterator = input.iterator();
+        for (int i = 0; i < size; i++)
+        {
+            T element = iterator.next();
+            if (isInWindow(i, numWindows, 
+                stepSize, dilation, maxOffset, windowDelta))
+            {
+                values[i % span] = valueFunction.applyAsDouble(element);
+            }
+            int start = nextWindow * stepSize;
+            if (i == start + maxOffset)
+            {
+                for (int j = 0; j < windowSize; j++)
+                {
+                    row[j] = values[(start + j * dilation) % span];
+                }
+                target.put(nextWindow, row);
+                nextWindow++;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the element with the given index appears in any
+     * of the windows
+     *
+     * @param index The index of the element
+     * @param numWindows The number of windows
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @param maxOffset The offset of the last element of a window
+     * @param windowDelta The number of windows between two windows
+     * that contain the same element
+     * @return Whether the element appears in a window
+     */
+    private static boolean isInWindow(int index, 
+        int numWindows, int stepSize, int dilation, int maxOffset, 
+        int windowDelta)
+    {
+        int minWindow = Math.max(0, 
+            (index - maxOffset + stepSize - 1) / stepSize);
+        int maxWindow = Math.min(numWindows - 1, index / stepSize);
+        // The windows that contain a certain element differ by multiples 
+        // of the window delta, so only this many windows are checked
+        int maxCheckedWindow = 
+            Math.min(maxWindow, minWindow + windowDelta - 1);
+        for (int w = minWindow; w <= maxCheckedWindow; w++)
+        {
+            if ((index - w * stepSize) % dilation == 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the greatest common divisor of the given positive values
+     * 
+     * @param a The first value
+     * @param b The second value
+     * @return The greatest common divisor
+     */
+    private static int gcd(int a, int b)
+    {
+        while (b != 0)
+        {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Validate the given window parameters
+     *
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @throws IllegalArgumentException If any parameter is not positive
+     */
+    private static void validate(int windowSize, int stepSize, int dilation)
+    {
+        if (windowSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The window size must be positive, but is " + windowSize);
+        }
+        if (stepSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The step size must be positive, but is " + stepSize);
+        }
+        if (dilation <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The dilation must be positive, but is " + dilation);
+        }
+    }
+
+    /**
+     * Make sure that the target has enough space for the given windows,
+     * starting at the given offset
+     *
+     * @param capacity The capacity of the target
+     * @param offset The offset in the target
+     * @param numWindows The number of windows
+     * @param windowSize The window size
+     * @throws IllegalArgumentException If the offset is negative, or the 
+     * space is not sufficient
+     */
+    private static void validateTarget(
+        long capacity, int offset, int numWindows, int windowSize)
+    {
+        if (offset < 0)
+        {
+            throw new IllegalArgumentException(
+                "The target offset may not be negative, but is " + offset);
+        }
+        long available = capacity - offset;
+        long required = (long)numWindows * windowSize;
+        if (available < required)
+        {
+            throw new IllegalArgumentException(
+                "The target has space for " + available + " elements, but "
+                + numWindows + " windows of size " + windowSize
+                + " require " + required + " elements");
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ListSlidingWindowBuffers()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -30,8 +30,18 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -101,6 +111,170 @@ public class ListSlidingWindows
             input, windowSize, start, maxEnd, stepSize);
     }
 
+    /**
+     * Applies the given function to all windows of a 
+     * {@link #createClosedSlidingWindow closed sliding window} over the
+     * given list, and reduces the results with the given reduction 
+     * function. The windows are processed in parallel, in the given
+     * <code>ForkJoinPool</code>.<br>
+     * <br>
+     * The reduction function must be associative, and the given identity
+     * must be an identity value for the reduction function. The results 
+     * of the windows will be combined in the order of the windows.<br>
+     * <br>
+     * See {@link #mapReduceClosedSlidingWindow(List, int, int, Supplier, 
+     * BiFunction, Object, BinaryOperator, ForkJoinPool)} for a variant
+     * of this method that allows re-using a state between windows.
+     * 
+     * @param <T> The element type
+     * @param <R> The result type
+     * 
+     * @param input The input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param mapper The function that will be applied to each window
+     * @param identity The identity value of the reduction
+     * @param reducer The reduction function
+     * @param pool The <code>ForkJoinPool</code>
+     * @return The result of the reduction
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    public static <T, R> R mapReduceClosedSlidingWindow(
+        List<? extends T> input, int windowSize, int stepSize,
+        Function<? super List<T>, ? extends R> mapper,
+        R identity, BinaryOperator<R> reducer, ForkJoinPool pool)
+    {
+        BiFunction<Object, List<T>, R> statelessMapper = 
+            (s, w) -> mapper.apply(w);
+        return mapReduceClosedSlidingWindow(input, windowSize, stepSize, 
+            () -> null, statelessMapper, identity, reducer, pool);
+    }
+    
+    /**
+     * Applies the given function to all windows of a 
+     * {@link #createClosedSlidingWindow closed sliding window} over the
+     * given list, and reduces the results with the given reduction 
+     * function. The windows are processed in parallel, in the given
+     * <code>ForkJoinPool</code>.<br>
+     * <br>
+     * The windows are divided into contiguous ranges of balanced sizes, 
+     * and each range is processed by one task. Each task obtains one 
+     * state object from the given supplier, and passes this state object 
+     * to the given function, together with each window of its range. 
+     * The windows of one range are passed to the function in ascending 
+     * order. This allows the function to re-use results between the
+     * overlapping windows of one task, for example, by incrementally
+     * updating an aggregate that was computed for the previous window.<br>
+     * <br>
+     * The reduction function must be associative, and the given identity
+     * must be an identity value for the reduction function. The results 
+     * of the windows will be combined in the order of the windows.<br>
+     * <br>
+     * If the given list is modified while this method is executed, the 
+     * behavior is unspecified.<br>
+     * 
+     * @param <T> The element type
+     * @param <S> The state type
+     * @param <R> The result type
+     * 
+     * @param input The input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param stateSupplier The supplier for the state of each task
+     * @param mapper The function that will be applied to each window
+     * @param identity The identity value of the reduction
+     * @param reducer The reduction function
+     * @param pool The <code>ForkJoinPool</code>
+     * @return The result of the reduction
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    public static <T, S, R> R mapReduceClosedSlidingWindow(
+        List<? extends T> input, int windowSize, int stepSize,
+        Supplier<? extends S> stateSupplier,
+        BiFunction<? super S, ? super List<T>, ? extends R> mapper,
+        R identity, BinaryOperator<R> reducer, ForkJoinPool pool)
+    {
+        validateSizes(windowSize, stepSize);
+        int numWindows = ListSlidingWindowBuffers.computeNumWindows(
+            input.size(), windowSize, stepSize, 1);
+        int numTasks = pool.getParallelism() * 4;
+        int threshold = Math.max(1, (numWindows + numTasks - 1) / numTasks);
+        SlidingWindowReduceTask<T, S, R> task = 
+            new SlidingWindowReduceTask<T, S, R>(input, windowSize, 
+                stepSize, stateSupplier, mapper, identity, reducer, 
+                threshold, 0, numWindows);
+        return pool.invoke(task);
+    }
+    
+    /**
+     * Create a stream that contains randomly selected windows of a 
+     * {@link #createClosedSlidingWindow closed sliding window} over the 
+     * given list. The lists will be returned in form of unmodifiable 
+     * lists.<br>
+     * <br>
+     * The start positions of the windows are drawn directly, without
+     * enumerating all windows. So the effort only depends on the number 
+     * of windows to select, and not on the size of the input list.<br> 
+     * <br>
+     * If the windows are selected <i>without replacement</i>, then the
+     * stream will contain distinct windows, in the order in which they
+     * appear in the input list. If the windows are selected <i>with 
+     * replacement</i>, then the stream may contain the same window 
+     * multiple times, in random order.<br>
+     * <br>
+     * If the given list is modified after the stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the windows have been obtained
+     * from the stream, the behavior of the windows is unspecified.<br>
+     * <br>
+     * 
+     * @param <T> The element type
+     *  
+     * @param input The input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param numWindows The number of windows to select
+     * @param withReplacement Whether the windows are selected with
+     * replacement
+     * @param random The random number generator
+     * @return The stream
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive, or the number of windows is negative, or the 
+     * windows are selected without replacement and the number of windows
+     * is larger than the number of windows of the closed sliding window,
+     * or the windows are selected with replacement and the input list
+     * is smaller than the window size.
+     */
+    public static <T> Stream<List<T>> createRandomSlidingWindows(
+        List<? extends T> input, int windowSize, int stepSize, 
+        int numWindows, boolean withReplacement, Random random)
+    {
+        validateSizes(windowSize, stepSize);
+        int numPositions = ListSlidingWindowBuffers.computeNumWindows(
+            input.size(), windowSize, stepSize, 1);
+        int positions[] = null;
+        if (withReplacement)
+        {
+            positions = RandomUtils.randomSampleWithReplacement(
+                numWindows, 0, numPositions, random);
+        }
+        else
+        {
+            positions = RandomUtils.randomSortedSample(
+                numWindows, 0, numPositions, random);
+        }
+        return IntStream.of(positions).mapToObj(p -> 
+        {
+            int fromIndex = p * stepSize;
+            int toIndex = fromIndex + windowSize;
+            return Collections.unmodifiableList(
+                input.subList(fromIndex, toIndex));
+        });
+    }
+
     /**
      * Create a stream that contains lists that are a sliding window over
      * the given input list. The lists will be returned in form of 
@@ -165,6 +339,384 @@ public class ListSlidingWindows
     }
     
     
+    /**
+     * Create a stream that contains lists that are a sliding window over
+     * the given input list, padded according to the given policy. The lists
+     * will be returned in form of unmodifiable lists.<br>
+     * <br>
+     * The first window ends with the first element of the list, and the 
+     * windows are moved by the step size for as long as they start at an 
+     * element of the list. Each window will contain exactly 
+     * <code>windowSize</code> elements. The elements of a window that are 
+     * located outside of the input list are determined by the given 
+     * {@link PaddingPolicy}.<br>
+     * <br>
+     * Examples:<br>
+     * <br>
+     * For a window size of 3 and a step size of 2, with the 
+     * {@link PaddingPolicy#CLAMP} policy, the method will behave as 
+     * follows:
+     * <pre><code>
+     * input   :       [0, 1, 2, 3, 4]
+     * output  :
+     *           [0  0  0]
+     *                 [0, 1, 2]
+     *                       [2, 3, 4]
+     *                             [4  4  4]
+     * </code></pre> 
+     * <br>
+     * The windows are views on the input list that only perform index
+     * computations. No elements are copied.<br>
+     * <br>
+     * If the given list is empty, then the stream will be empty.<br>
+     * <br>
+     * If the given list is modified after the stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the windows have been obtained
+     * from the stream, the behavior of the windows is unspecified.<br>
+     * <br>
+     * 
+     * @param <T> The element type
+     *  
+     * @param input The input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param paddingPolicy The {@link PaddingPolicy}
+     * @param fillValue The value for the elements outside of the input
+     * list, when the padding policy is {@link PaddingPolicy#CONSTANT}.
+     * This may be <code>null</code>.
+     * @return The stream
+     * @throws NullPointerException If the padding policy is 
+     * <code>null</code>
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    public static <T> Stream<List<T>> createPaddedSlidingWindow(
+        List<? extends T> input, int windowSize, int stepSize, 
+        PaddingPolicy paddingPolicy, T fillValue)
+    {
+        Objects.requireNonNull(paddingPolicy, "The paddingPolicy is null");
+        validateSizes(windowSize, stepSize);
+        Iterator<List<T>> iterator = new Iterator<List<T>>()
+        {
+            /**
+             * The current index of the start of the list that will be returned
+             */
+            private int currentIndex = -windowSize + 1;
+
+            @Override
+            public boolean hasNext()
+            {
+                return !input.isEmpty() && currentIndex < input.size();
+            }
+
+            @Override
+            public List<T> next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException("No more elements");
+                }
+                List<T> result = createPaddedView(
+                    input, currentIndex, windowSize, paddingPolicy, fillValue);
+                currentIndex += stepSize;
+                return result;
+            }
+        };
+        Spliterator<List<T>> spliterator = 
+            Spliterators.spliteratorUnknownSize(iterator, 0);
+        Stream<List<T>> stream = 
+            StreamSupport.stream(spliterator, false);
+        return stream;
+    }
+    
+    /**
+     * Create a stream that contains lists that are a dilated sliding window
+     * over the given input list. The lists will be returned in form of 
+     * unmodifiable lists.<br>
+     * <br>
+     * The window with index <code>w</code> consists of the elements
+     * at the indices
+     * <pre><code>
+     * w * stepSize + j * dilation,  for j = 0 ... windowSize - 1
+     * </code></pre>
+     * of the input list. Only windows that are completely contained in
+     * the input list are returned. For a dilation of 1, this is equal
+     * to the {@link #createClosedSlidingWindow closed sliding window}.<br>
+     * <br>
+     * For a window size of 3, a step size of 2 and a dilation of 2, the 
+     * method will behave as follows:
+     * <pre><code>
+     * input   :  [0, 1, 2, 3, 4, 5, 6, 7, 8 ]
+     * output  : 
+     *            [0,    2,    4 ]
+     *                  [2,    4,    6 ]
+     *                        [4,    6,    8 ]
+     * </code></pre> 
+     * <br>
+     * The windows are strided views on the input list, which only perform
+     * index computations. The returned stream has a known size, and may
+     * efficiently be processed in parallel. The 
+     * {@link ListSlidingWindowBuffers} class offers methods for writing 
+     * the same windows into primitive arrays or buffers.<br>
+     * <br>
+     * If the given list is modified after the stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the windows have been obtained
+     * from the stream, the behavior of the windows is unspecified.<br>
+     * <br>
+     * 
+     * @param <T> The element type
+     *  
+     * @param input The input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param dilation The dilation
+     * @return The stream
+     * @throws IllegalArgumentException If the window size, the step size
+     * or the dilation is not positive
+     */
+    public static <T> Stream<List<T>> createDilatedSlidingWindow(
+        List<? extends T> input, int windowSize, int stepSize, int dilation)
+    {
+        int numWindows = ListSlidingWindowBuffers.computeNumWindows(
+            input.size(), windowSize, stepSize, dilation);
+        return IntStream.range(0, numWindows).mapToObj(w -> 
+            createStridedView(input, w * stepSize, windowSize, dilation));
+    }
+    
+    /**
+     * Creates an unmodifiable view on the given list, starting at the given
+     * index, with the given size, containing every <code>stride</code>-th
+     * element of the given list.
+     * 
+     * @param <T> The element type
+     * 
+     * @param input The input list
+     * @param start The start index
+     * @param size The size of the view
+     * @param stride The stride
+     * @return The view
+     */
+    private static <T> List<T> createStridedView(
+        List<? extends T> input, int start, int size, int stride)
+    {
+        return StridedListView.create(input, start, stride, size, false);
+    }
+    
+    /**
+     * Creates an unmodifiable view on the given list, starting at the given
+     * index, with the given size. Elements that are outside of the given 
+     * list will be determined with the given padding policy.
+     * 
+     * @param <T> The element type
+     * 
+     * @param input The input list, which may not be empty
+     * @param start The start index, which may be negative
+     * @param size The size of the view
+     * @param paddingPolicy The {@link PaddingPolicy}
+     * @param fillValue The fill value
+     * @return The view
+     */
+    private static <T> List<T> createPaddedView(List<? extends T> input, 
+        int start, int size, PaddingPolicy paddingPolicy, T fillValue)
+    {
+        class PaddedView extends AbstractListView<T>
+        {
+            @Override
+            T element(int index)
+            {
+                int inputIndex = start + index;
+                int inputSize = input.size();
+                if (inputIndex >= 0 && inputIndex < inputSize)
+                {
+                    return input.get(inputIndex);
+                }
+                int paddedIndex = 
+                    paddingPolicy.computeIndex(inputIndex, inputSize);
+                if (paddedIndex < 0)
+                {
+                    return fillValue;
+                }
+                return input.get(paddedIndex);
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        }
+        class RandomAccessPaddedView extends PaddedView 
+            implements RandomAccess
+        {
+            // A PaddedView that implements the RandomAccess interface
+        }
+        if (input instanceof RandomAccess)
+        {
+            return new RandomAccessPaddedView();
+        }
+        return new PaddedView();
+    }
+    
+    /**
+     * Passes the windows of a {@link #createClosedSlidingWindow closed 
+     * sliding window} over the given list to the given consumer.<br>
+     * <br>
+     * In contrast to the stream that is returned by 
+     * {@link #createClosedSlidingWindow}, this method does not create 
+     * a new list for each window. Instead, a single unmodifiable view
+     * is created, which is moved over the input list, and passed to 
+     * the consumer for each window. So after the initial setup, the 
+     * iteration does not allocate any objects.<br>
+     * <br>
+     * The consumer may not store the window that it receives: The 
+     * contents of the window will change when the window is moved to the 
+     * next position. If the consumer has to keep the contents of a window,
+     * then it has to create a copy of the window.<br>
+     * <br>
+     * The view that is passed to the consumer implements the 
+     * <code>RandomAccess</code> interface if and only if the given list
+     * implements it. Accessing its elements by index does not allocate 
+     * any objects. Iterating over the view with an 
+     * <code>Iterator</code> may allocate an iterator instance.<br>
+     * <br>
+     * If the given list is modified while the windows are processed, 
+     * the behavior is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     *  
+     * @param input The input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param consumer The consumer for the windows
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    public static <T> void forEachClosedSlidingWindow(
+        List<? extends T> input, int windowSize, int stepSize,
+        Consumer<? super List<T>> consumer)
+    {
+        validateSizes(windowSize, stepSize);
+        Objects.requireNonNull(consumer, "The consumer may not be null");
+        MovingWindowView<T> window = 
+            MovingWindowView.create(input, windowSize);
+        int maxStart = input.size() - windowSize;
+        for (int start = 0; start <= maxStart; start += stepSize)
+        {
+            window.offset = start;
+            consumer.accept(window);
+            if (start > maxStart - stepSize)
+            {
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Implementation of an unmodifiable view on a range of a list that 
+     * has a fixed size, and whose start index may be changed
+     *
+     * @param <T> The element type
+     */
+    private static class MovingWindowView<T> 
+        extends AbstractListView<T>
+    {
+        /**
+         * The backing list
+         */
+        private final List<? extends T> input;
+        
+        /**
+         * The size of this view
+         */
+        private final int size;
+        
+        /**
+         * The index in the backing list where this view starts
+         */
+        private int offset;
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param input The backing list
+         * @param size The size of this view
+         */
+        private MovingWindowView(List<? extends T> input, int size)
+        {
+            this.input = input;
+            this.size = size;
+        }
+        
+        /**
+         * Creates a new view that implements the <code>RandomAccess</code>
+         * interface if and only if the given list implements it
+         * 
+         * @param <T> The element type
+         * 
+         * @param input The backing list
+         * @param size The size of the view
+         * @return The view
+         */
+        static <T> MovingWindowView<T> create(
+            List<? extends T> input, int size)
+        {
+            if (input instanceof RandomAccess)
+            {
+                return new RandomAccessMovingWindowView<T>(input, size);
+            }
+            return new MovingWindowView<T>(input, size);
+        }
+        
+        @Override
+        T element(int index)
+        {
+            return input.get(offset + index);
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+        
+        @Override
+        public Iterator<T> iterator()
+        {
+            if (input instanceof RandomAccess)
+            {
+                return super.iterator();
+            }
+            return Collections.<T>unmodifiableList(
+                input.subList(offset, offset + size)).iterator();
+        }
+    }
+    
+    /**
+     * A {@link MovingWindowView} on a list that implements the 
+     * <code>RandomAccess</code> interface
+     *
+     * @param <T> The element type
+     */
+    private static final class RandomAccessMovingWindowView<T> 
+        extends MovingWindowView<T> implements RandomAccess
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param input The backing list
+         * @param size The size of this view
+         */
+        RandomAccessMovingWindowView(List<? extends T> input, int size)
+        {
+            super(input, size);
+        }
+    }
+    
     /**
      * Create a stream that contains lists that are a sliding window over
      * the given input list. The lists will be returned in form of 
@@ -235,16 +787,7 @@ public class ListSlidingWindows
         List<? extends T> input, int windowSize, 
         int start, int maxEnd, int stepSize)
     {
-        if (windowSize <= 0)
-        {
-            throw new IllegalArgumentException(
-                "The window size must be positive, but is " + windowSize);
-        }
-        if (stepSize <= 0)
-        {
-            throw new IllegalArgumentException(
-                "The step size must be positive, but is " + stepSize);
-        }
+        validateSizes(windowSize, stepSize);
         return new Iterator<List<T>>()
         {
             /**
@@ -277,6 +820,29 @@ public class ListSlidingWindows
         };
     }
     
+    /**
+     * Make sure that the given window size and step size are valid,
+     * and throw an <code>IllegalArgumentException</code> if not.
+     * 
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    private static void validateSizes(int windowSize, int stepSize)
+    {
+        if (windowSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The window size must be positive, but is " + windowSize);
+        }
+        if (stepSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The step size must be positive, but is " + stepSize);
+        }
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
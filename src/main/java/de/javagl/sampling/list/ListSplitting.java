@@ -26,14 +26,15 @@
  */
 package de.javagl.sampling.list;
 
-import java.awt.Point;
-import java.util.AbstractList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -199,8 +200,213 @@ public class ListSplitting
     }    
     
     /**
-     * Virtually splits the given list into the given number of chunks, and
-     * returns an unmodifiable view on the chunk with the given index.<br>
+     * Creates a stream that provides the given number of chunks from the 
+     * given list, in form of unmodifiable lists, where each chunk has 
+     * approximately the same total cost.<br>
+     * <br>
+     * In contrast to {@link #extractChunks(List, int)}, the chunks are
+     * not balanced by the number of elements, but by the sum of the costs
+     * of their elements, as computed with the given cost function. This 
+     * may be used to distribute work among parallel workers, when the
+     * elements require different amounts of work.<br>
+     * <br>
+     * The cost function is called once for each element, when this method
+     * is called, to compute the prefix sums of the costs. The boundaries 
+     * of the chunks are then placed with a binary search on these prefix 
+     * sums, so that the boundary of chunk <code>i</code> is the index 
+     * where the prefix sum is closest to <code>i/numChunks</code> of 
+     * the total cost. Chunks may be empty, for example, when a single
+     * element has a larger cost than all others together.<br>
+     * <br>
+     * The returned stream has a known size, and may efficiently be 
+     * processed in parallel.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the chunks have been obtained
+     * from the stream, the behavior of the chunks is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param costFunction The function that computes the cost of each 
+     * element
+     * @param numChunks The number of chunks
+     * @return The resulting lists
+     * @throws IllegalArgumentException If the number of chunks is smaller
+     * than 1, or the cost function returns a negative or non-finite value
+     */
+    public static <T> Stream<List<T>> extractCostBalancedChunks(
+        List<? extends T> list, ToDoubleFunction<? super T> costFunction, 
+        int numChunks)
+    {
+        if (numChunks < 1)
+        {
+            throw new IllegalArgumentException(
+                "The number of chunks must be at least 1, but is " + numChunks);
+        }
+        int boundaries[] = computeCostBalancedChunkBoundaries(
+            list, costFunction, numChunks);
+        return IntStream.range(0, numChunks).mapToObj(i -> 
+            ListViews.createRangeView(
+                list, boundaries[i], boundaries[i + 1]));
+    }
+    
+    /**
+     * Computes the boundaries of chunks of the given list that have 
+     * approximately the same total cost. The result will be an array 
+     * with a length of <code>numChunks + 1</code>, where the first
+     * element is 0, and the last element is the list size.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param costFunction The cost function
+     * @param numChunks The number of chunks
+     * @return The boundaries
+     * @throws IllegalArgumentException If the cost function returns a 
+     * negative or non-finite value
+     */
+    private static <T> int[] computeCostBalancedChunkBoundaries(
+        List<? extends T> list, ToDoubleFunction<? super T> costFunction, 
+        int numChunks)
+    {
+        int size = list.size();
+        double prefixSums[] = new double[size + 1];
+        int index = 0;
+        for (T element : list)
+        {
+            double cost = costFunction.applyAsDouble(element);
+            if (cost < 0.0 || !Double.isFinite(cost))
+            {
+                throw new IllegalArgumentException(
+                    "The costs must be non-negative, but the cost of the " 
+                    + "element at index " + index + " is " + cost);
+            }
+            prefixSums[index + 1] = prefixSums[index] + cost;
+            index++;
+        }
+        double totalCost = prefixSums[size];
+        int boundaries[] = new int[numChunks + 1];
+        for (int i = 1; i < numChunks; i++)
+        {
+            double target = totalCost * i / numChunks;
+            
+            // Find the first index where the prefix sum is not smaller 
+            // than the target, and check whether the previous index is 
+            // closer to the target
+            int low = boundaries[i - 1];
+            int high = size;
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if (prefixSums[middle] < target)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            if (low > boundaries[i - 1] && 
+                target - prefixSums[low - 1] < prefixSums[low] - target)
+            {
+                low--;
+            }
+            boundaries[i] = low;
+        }
+        boundaries[numChunks] = size;
+        return boundaries;
+    }
+    
+    /**
+     * Creates a stream that provides the given number of interleaved 
+     * chunks from the given list, in form of unmodifiable lists.<br>
+     * <br>
+     * The chunk with index <code>i</code> contains the elements at the 
+     * indices <code>i, i + numChunks, i + 2 * numChunks...</code> of the
+     * given list. For example, a call with
+     * <pre><code>
+     * list = [ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 ]
+     * numChunks = 3
+     * </code></pre>
+     * will create a stream that contains lists
+     * <pre><code>
+     * [ 0, 3, 6, 9 ]
+     * [ 1, 4, 7 ]
+     * [ 2, 5, 8 ]
+     * </code></pre>
+     * When the elements of the list are sorted by the amount of work 
+     * that they require, then the interleaved chunks will require 
+     * approximately the same amount of work, so that they may be used
+     * for distributing the work among parallel workers.<br>
+     * <br>
+     * The chunks only store the parameters that describe their indices,
+     * and the returned stream has a known size, and may efficiently be 
+     * processed in parallel.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the chunks have been obtained
+     * from the stream, the behavior of the chunks is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param numChunks The number of chunks
+     * @return The resulting lists
+     * @throws IllegalArgumentException If the number of chunks is smaller
+     * than 1 
+     */
+    public static <T> Stream<List<T>> extractInterleavedChunks(
+        List<? extends T> list, int numChunks)
+    {
+        validateChunk(numChunks, 0);
+        return IntStream.range(0, numChunks).mapToObj(
+            i -> extractInterleavedChunk(list, numChunks, i));
+    }
+    
+    /**
+     * Creates a stream that provides lists where interleaved chunks of 
+     * the given list are omitted, in form of unmodifiable lists. Each
+     * list contains all elements of the given list, except for the ones
+     * that are contained in the respective chunk that is created by 
+     * {@link #extractInterleavedChunks(List, int)}.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the chunks have been obtained
+     * from the stream, the behavior of the chunks is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param numChunks The number of chunks
+     * @return The resulting lists
+     * @throws IllegalArgumentException If the number of chunks is smaller
+     * than 1 
+     */
+    public static <T> Stream<List<T>> omitInterleavedChunks(
+        List<? extends T> list, int numChunks)
+    {
+        validateChunk(numChunks, 0);
+        return IntStream.range(0, numChunks).mapToObj(
+            i -> omitInterleavedChunk(list, numChunks, i));
+    }
+    
+    /**
+     * Virtually splits the given list into the given number of interleaved
+     * chunks, and returns an unmodifiable view on the chunk with the given 
+     * index.<br>
+     * <br>
+     * See {@link #extractInterleavedChunks(List, int)} for details.
      * 
      * @param <T> The type of the elements
      * 
@@ -212,43 +418,46 @@ public class ListSplitting
      * than 1, or the chunk index is negative or not smaller than the number
      * of chunks 
      */
-    public static <T> List<T> extractChunk(
+    public static <T> List<T> extractInterleavedChunk(
         List<? extends T> list, int numChunks, int chunkIndex)
     {
         validateChunk(numChunks, chunkIndex);
-        Point indexRange = computeChunkIndexRange(
+        int size = computeInterleavedChunkSize(
             list.size(), numChunks, chunkIndex);
-        return Collections.unmodifiableList(
-            list.subList(indexRange.x, indexRange.y));
+        return StridedListView.create(
+            list, chunkIndex, numChunks, size, false);
     }
     
     /**
-     * Virtually splits the given list into the given number of chunks, and
-     * returns an unmodifiable view on the list, <i>omitting</i> the chunk 
-     * with the given index.<br>
+     * Virtually splits the given list into the given number of interleaved
+     * chunks, and returns an unmodifiable view on the list, <i>omitting</i>
+     * the chunk with the given index.<br>
+     * <br>
+     * See {@link #extractInterleavedChunks(List, int)} for details.
      * 
      * @param <T> The type of the elements
      * 
      * @param list the backing list
      * @param numChunks The number of chunks
-     * @param chunkIndex The index of the chunk to return
+     * @param chunkIndex The index of the chunk to omit
      * @return The view on the list, except for the specified chunk
      * @throws IllegalArgumentException If the number of chunks is smaller
      * than 1, or the chunk index is negative or not smaller than the number
      * of chunks 
      */
-    public static <T> List<T> omitChunk(
+    public static <T> List<T> omitInterleavedChunk(
         List<? extends T> list, int numChunks, int chunkIndex)
     {
         validateChunk(numChunks, chunkIndex);
-        Point indexRange = computeChunkIndexRange(
+        int size = computeInterleavedChunkSize(
             list.size(), numChunks, chunkIndex);
-        return inverseSubList(list, indexRange.x, indexRange.y);
+        return StridedListView.create(
+            list, chunkIndex, numChunks, size, true);
     }
     
     /**
-     * Compute the index range for the specified chunk of a list with the
-     * given size.<br>
+     * Computes the size of the specified interleaved chunk of a list with
+     * the given size.<br>
      * <br>
      * The method assumes that the parameters are valid according to the
      * {@link #validateChunk(int, int)} method.
@@ -256,22 +465,140 @@ public class ListSplitting
      * @param listSize The list size
      * @param numChunks The number of chunks
      * @param chunkIndex The chunk index
-     * @return The point consisting of (fromIndexInclusive, toIndexExclusive)
+     * @return The size of the chunk
      */
-    private static Point computeChunkIndexRange(
+    private static int computeInterleavedChunkSize(
         int listSize, int numChunks, int chunkIndex)
     {
-        int stepSize = listSize / numChunks;
-        int remainder = listSize % numChunks;
-        if (chunkIndex < remainder)
+        long n = (long)listSize - chunkIndex + numChunks - 1;
+        return (int)(n / numChunks);
+    }
+    
+    /**
+     * Creates a stream that provides the given number of partitions of
+     * the given list, in form of unmodifiable lists, where the partition
+     * of each element is determined by the hash code of its key.<br>
+     * <br>
+     * Elements with equal keys will be contained in the same partition. 
+     * Within each partition, the elements appear in the order in which 
+     * they appear in the given list. The partition of an element with 
+     * key <code>k</code> is determined by spreading the bits of 
+     * <code>Objects.hashCode(k)</code> (in the same way as it is done 
+     * in a <code>HashMap</code>) and taking the result modulo the number
+     * of partitions. Partitions may be empty.<br>
+     * <br>
+     * The partitions are computed when this method is called, with two
+     * passes of a counting sort: The first pass computes the partition 
+     * of each element and counts the sizes of the partitions, and the
+     * second pass scatters the indices of the elements into a single 
+     * array. All partitions are views that share this index array.<br>
+     * <br>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the partitions have been 
+     * obtained from the stream, the behavior of the partitions is 
+     * unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param keyExtractor The function that extracts the key from each 
+     * element
+     * @param numPartitions The number of partitions
+     * @return The resulting lists
+     * @throws IllegalArgumentException If the number of partitions is 
+     * smaller than 1 
+     */
+    public static <T> Stream<List<T>> extractHashPartitions(
+        List<? extends T> list, Function<? super T, ?> keyExtractor, 
+        int numPartitions)
+    {
+        if (numPartitions < 1)
+        {
+            throw new IllegalArgumentException(
+                "The number of partitions must be at least 1, but is " 
+                + numPartitions);
+        }
+        int size = list.size();
+        int partitions[] = new int[size];
+        int offsets[] = new int[numPartitions + 1];
+        int index = 0;
+        for (T element : list)
+        {
+            int h = Objects.hashCode(keyExtractor.apply(element));
+            int partition = Math.floorMod(h ^ (h >>> 16), numPartitions);
+            partitions[index] = partition;
+            offsets[partition + 1]++;
+            index++;
+        }
+        for (int p = 0; p < numPartitions; p++)
         {
-            int fromIndex = chunkIndex * stepSize + chunkIndex;
-            int toIndex = fromIndex + stepSize + 1;
-            return new Point(fromIndex, toIndex);
+            offsets[p + 1] += offsets[p];
         }
-        int fromIndex = chunkIndex * stepSize + remainder;
-        int toIndex = fromIndex + stepSize;
-        return new Point(fromIndex, toIndex);
+        int positions[] = new int[numPartitions];
+        System.arraycopy(offsets, 0, positions, 0, numPartitions);
+        int indices[] = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            indices[positions[partitions[i]]++] = i;
+        }
+        List<T> orderedList = ListViews.createIndexView(list, indices);
+        return IntStream.range(0, numPartitions).mapToObj(p -> 
+            ListViews.createRangeView(
+                orderedList, offsets[p], offsets[p + 1]));
+    }
+    
+    /**
+     * Virtually splits the given list into the given number of chunks, and
+     * returns an unmodifiable view on the chunk with the given index.<br>
+     * 
+     * @param <T> The type of the elements
+     * 
+     * @param list the backing list
+     * @param numChunks The number of chunks
+     * @param chunkIndex The index of the chunk to return
+     * @return The view on the chunk
+     * @throws IllegalArgumentException If the number of chunks is smaller
+     * than 1, or the chunk index is negative or not smaller than the number
+     * of chunks 
+     */
+    public static <T> List<T> extractChunk(
+        List<? extends T> list, int numChunks, int chunkIndex)
+    {
+        validateChunk(numChunks, chunkIndex);
+        int fromIndex = ChunkPartition.computeChunkStart(
+            list.size(), numChunks, chunkIndex);
+        int toIndex = ChunkPartition.computeChunkStart(
+            list.size(), numChunks, chunkIndex + 1);
+        return ListViews.createRangeView(list, fromIndex, toIndex);
+    }
+    
+    /**
+     * Virtually splits the given list into the given number of chunks, and
+     * returns an unmodifiable view on the list, <i>omitting</i> the chunk 
+     * with the given index.<br>
+     * 
+     * @param <T> The type of the elements
+     * 
+     * @param list the backing list
+     * @param numChunks The number of chunks
+     * @param chunkIndex The index of the chunk to return
+     * @return The view on the list, except for the specified chunk
+     * @throws IllegalArgumentException If the number of chunks is smaller
+     * than 1, or the chunk index is negative or not smaller than the number
+     * of chunks 
+     */
+    public static <T> List<T> omitChunk(
+        List<? extends T> list, int numChunks, int chunkIndex)
+    {
+        validateChunk(numChunks, chunkIndex);
+        int fromIndex = ChunkPartition.computeChunkStart(
+            list.size(), numChunks, chunkIndex);
+        int toIndex = ChunkPartition.computeChunkStart(
+            list.size(), numChunks, chunkIndex + 1);
+        return inverseSubList(list, fromIndex, toIndex);
     }
     
     /**
@@ -322,26 +649,7 @@ public class ListSplitting
     private static <T> List<T> inverseSubList(
         List<? extends T> list, int fromIndex, int toIndex)
     {
-        int omittedSize = toIndex - fromIndex;
-        List<T> result =  new AbstractList<T>()
-        {
-            @Override
-            public T get(int index)
-            {
-                if (index < fromIndex)
-                {
-                    return list.get(index);
-                }
-                return list.get(index + omittedSize);
-            }
-            
-            @Override
-            public int size()
-            {
-                return list.size() - omittedSize;
-            }
-        };
-        return result;
+        return ListViews.createInverseRangeView(list, fromIndex, toIndex);
     }
     
     /**
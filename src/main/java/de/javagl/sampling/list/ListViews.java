@@ -0,0 +1,169 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+
+/**
+ * Methods to create unmodifiable views on lists.<br>
+ * <br>
+ * When the input of one of these methods is itself a view that was 
+ * created by this class, then the index mappings will be composed when 
+ * the new view is created: The resulting view will refer directly to
+ * the original backing list. So accessing an element requires a single
+ * indirection, regardless of how deeply views on views are nested.<br>
+ * <br>
+ * Ranges of ranges, of strided views and of circular strided views are 
+ * composed arithmetically, and ranges of index views and views that omit 
+ * a range of an index view share the same index array. All these are
+ * created in constant time. Other ranges of views, for which no closed 
+ * form exists, are created as range views on the given view, so that 
+ * accessing an element requires two indirections. Only index views on
+ * other views are flattened into a new index array, which requires time 
+ * and memory that is linear in the number of indices.
+ */
+class ListViews
+{
+    /**
+     * Creates an unmodifiable view on the elements of the given list that
+     * have the given indices. The indices are assumed to be valid for
+     * the given list. Changes in the given array will be visible in the
+     * returned view, unless the view had to be flattened.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The list
+     * @param indices The indices
+     * @return The view
+     */
+    static <T> List<T> createIndexView(List<? extends T> list, int indices[])
+    {
+        if (list instanceof BackedListView<?>)
+        {
+            BackedListView<? extends T> view = 
+                (BackedListView<? extends T>)list;
+            int backingIndices[] = new int[indices.length];
+            for (int i = 0; i < indices.length; i++)
+            {
+                backingIndices[i] = view.backingIndex(indices[i]);
+            }
+            return IndexListView.create(view.backingList(), backingIndices);
+        }
+        return IndexListView.create(list, indices);
+    }
+    
+    /**
+     * Creates an unmodifiable view on the specified range of the given 
+     * list. The range is assumed to be valid for the given list.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The list
+     * @param fromIndex The start index, inclusive
+     * @param toIndex The end index, exclusive
+     * @return The view
+     */
+    static <T> List<T> createRangeView(
+        List<? extends T> list, int fromIndex, int toIndex)
+    {
+        if (fromIndex == toIndex)
+        {
+            return RangeListView.create(list, 0, 0, false);
+        }
+        if (list instanceof IndexListView<?>)
+        {
+            IndexListView<? extends T> view = (IndexListView<? extends T>)list;
+            return IndexListView.createRange(view, fromIndex, toIndex);
+        }
+        if (list instanceof RangeListView<?>)
+        {
+            RangeListView<? extends T> view = (RangeListView<? extends T>)list;
+            if (!view.isInverse())
+            {
+                int offset = view.backingIndex(0);
+                return RangeListView.create(view.backingList(), 
+                    offset + fromIndex, offset + toIndex, false);
+            }
+        }
+        if (list instanceof StridedListView<?>)
+        {
+            StridedListView<? extends T> view = 
+                (StridedListView<? extends T>)list;
+            if (!view.isInverse())
+            {
+                return StridedListView.create(view.backingList(), 
+                    view.backingIndex(fromIndex), view.stride(), 
+                    toIndex - fromIndex, false);
+            }
+        }
+        if (list instanceof CircularStridedListView<?>)
+        {
+            CircularStridedListView<? extends T> view = 
+                (CircularStridedListView<? extends T>)list;
+            return CircularStridedListView.create(view.backingList(), 
+                view.backingIndex(fromIndex), view.stride(), 
+                toIndex - fromIndex);
+        }
+        return RangeListView.create(list, fromIndex, toIndex, false);
+    }
+    
+    /**
+     * Creates an unmodifiable view on the given list that consists of 
+     * all elements of the list, <i>except</i> for the specified range.
+     * The range is assumed to be valid for the given list.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The list
+     * @param fromIndex The start index of the range to omit, inclusive
+     * @param toIndex The end index of the range to omit, exclusive
+     * @return The view
+     */
+    static <T> List<T> createInverseRangeView(
+        List<? extends T> list, int fromIndex, int toIndex)
+    {
+        if (list instanceof IndexListView<?>)
+        {
+            IndexListView<? extends T> view = (IndexListView<? extends T>)list;
+            IndexListView<T> result = 
+                IndexListView.createInverseRange(view, fromIndex, toIndex);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+        return RangeListView.create(list, fromIndex, toIndex, true);
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ListViews()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
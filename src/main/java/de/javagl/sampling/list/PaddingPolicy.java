@@ -0,0 +1,122 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+/**
+ * An enumeration of policies for determining the elements of a window
+ * that are located outside of the input list. The examples show how the
+ * list <code>[a, b, c]</code> is padded with 3 elements on each side.
+ */
+public enum PaddingPolicy
+{
+    /**
+     * Elements outside of the list are replaced with a constant fill value:
+     * <pre><code>
+     * x  x  x [a, b, c] x  x  x
+     * </code></pre>
+     */
+    CONSTANT
+    {
+        @Override
+        int computeIndex(int index, int size)
+        {
+            if (index < 0 || index >= size)
+            {
+                return -1;
+            }
+            return index;
+        }
+    },
+
+    /**
+     * Elements outside of the list are replaced with the nearest element
+     * of the list:
+     * <pre><code>
+     * a  a  a [a, b, c] c  c  c
+     * </code></pre>
+     */
+    CLAMP
+    {
+        @Override
+        int computeIndex(int index, int size)
+        {
+            return Math.min(Math.max(index, 0), size - 1);
+        }
+    },
+
+    /**
+     * Elements outside of the list are mirrored at the boundaries of the
+     * list, where the boundary elements are repeated:
+     * <pre><code>
+     * c  b  a [a, b, c] c  b  a
+     * </code></pre>
+     */
+    MIRROR
+    {
+        @Override
+        int computeIndex(int index, int size)
+        {
+            // The period is computed as a long, because it may not fit
+            // into an int for lists with more than 2^30 elements
+            long period = 2L * size;
+            long i = Math.floorMod((long)index, period);
+            if (i >= size)
+            {
+                return (int)(period - 1 - i);
+            }
+            return (int)i;
+        }
+    },
+
+    /**
+     * Elements outside of the list are taken from the opposite end of
+     * the list, as if the list was periodic:
+     * <pre><code>
+     * a  b  c [a, b, c] a  b  c
+     * </code></pre>
+     */
+    WRAP
+    {
+        @Override
+        int computeIndex(int index, int size)
+        {
+            return Math.floorMod(index, size);
+        }
+    };
+
+    /**
+     * Computes the index of the element of a list with the given size that
+     * should appear at the given index, which may be outside of the list.
+     * The list size is assumed to be positive. Returns -1 if the fill value
+     * should be used.
+     *
+     * @param index The index
+     * @param size The list size
+     * @return The index in the list, or -1
+     */
+    abstract int computeIndex(int index, int size);
+}
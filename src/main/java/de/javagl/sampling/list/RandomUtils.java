@@ -26,6 +26,7 @@
  */
 package de.javagl.sampling.list;
 
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -71,6 +72,205 @@ class RandomUtils
         return reservoirSampling(size, min, max, random);
     }
     
+    /**
+     * Creates an array with the given size, containing a random permutation
+     * of the values in <code>[0, size)</code>.
+     * 
+     * @param size The size of the returned array
+     * @param random The random number generator
+     * @return The array
+     * @throws IllegalArgumentException If the size is negative
+     */
+    static int[] randomPermutation(int size, Random random)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("The size may not " 
+                + "be negative, but is " + size);
+        }
+        int permutation[] = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            int j = random.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+        }
+        return permutation;
+    }
+    
+    /**
+     * Creates an array with the given size, where the first 
+     * <code>prefixSize</code> elements are distinct random values in 
+     * <code>[0, size)</code>, in random order, and the remaining elements
+     * are the values that are not contained in the prefix. This is a 
+     * Fisher-Yates shuffle that stops after the first 
+     * <code>prefixSize</code> elements have been determined.
+     * 
+     * @param size The size of the returned array
+     * @param prefixSize The size of the random prefix
+     * @param random The random number generator
+     * @return The array
+     * @throws IllegalArgumentException If the size is negative, or the 
+     * prefix size is negative or larger than the size
+     */
+    static int[] partialPermutation(int size, int prefixSize, Random random)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("The size may not " 
+                + "be negative, but is " + size);
+        }
+        if (prefixSize < 0 || prefixSize > size)
+        {
+            throw new IllegalArgumentException("The prefix size must be "
+                + "in [0, " + size + "], but is " + prefixSize);
+        }
+        int permutation[] = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            permutation[i] = i;
+        }
+        int n = Math.min(prefixSize, size - 1);
+        for (int i = 0; i < n; i++)
+        {
+            int j = i + random.nextInt(size - i);
+            int t = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = t;
+        }
+        return permutation;
+    }
+    
+    /**
+     * Returns a uniformly distributed random value in 
+     * <code>[0, bound)</code>
+     * 
+     * @param bound The bound, exclusive
+     * @param random The random number generator
+     * @return The random value
+     * @throws IllegalArgumentException If the bound is not positive
+     */
+    static long randomLong(long bound, Random random)
+    {
+        if (bound <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The bound must be positive, but is " + bound);
+        }
+        long m = bound - 1;
+        if ((bound & m) == 0L)
+        {
+            return random.nextLong() & m;
+        }
+        // Rejection sampling, as in Random#nextInt(int)
+        long u = random.nextLong() >>> 1;
+        long r = u % bound;
+        while (u + m - r < 0L)
+        {
+            u = random.nextLong() >>> 1;
+            r = u % bound;
+        }
+        return r;
+    }
+    
+    /**
+     * Creates an array containing the indices in <code>[0, size)</code> 
+     * that are selected by independent Bernoulli trials with the given 
+     * probability, in ascending order.<br>
+     * <br>
+     * Instead of drawing one random number for each index, the gaps 
+     * between the selected indices are drawn from a geometric 
+     * distribution, as computed with {@link #geometricSkip(double, Random)}.
+     * So the effort of this method is linear in the number of selected 
+     * indices, which is expected to be <code>size * probability</code>.
+     * 
+     * @param size The size of the range of indices
+     * @param probability The probability for each index to be selected
+     * @param random The random number generator
+     * @return The array
+     * @throws IllegalArgumentException If the size is negative, or the
+     * probability is not in [0.0, 1.0]
+     */
+    static int[] bernoulliSample(int size, double probability, Random random)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("The size may not " 
+                + "be negative, but is " + size);
+        }
+        validateProbability(probability);
+        if (probability == 0.0)
+        {
+            return new int[0];
+        }
+        double logQ = Math.log1p(-probability);
+        int capacity = (int)Math.min(size, 
+            Math.ceil(size * probability) + 16);
+        int result[] = new int[capacity];
+        int count = 0;
+        long index = -1;
+        while (true)
+        {
+            index += geometricSkip(logQ, random) + 1;
+            if (index >= size || index < 0)
+            {
+                break;
+            }
+            if (count == result.length)
+            {
+                result = Arrays.copyOf(result, 
+                    Math.min(size, result.length + (result.length >> 1) + 1));
+            }
+            result[count++] = (int)index;
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+    
+    /**
+     * Returns the number of failures before the next success in a sequence
+     * of independent Bernoulli trials, which is a random value with a 
+     * geometric distribution.<br>
+     * <br>
+     * The given value is <code>log(1 - p)</code>, where <code>p</code> is 
+     * the probability for a success. It is passed to this method so that 
+     * it does not have to be computed for each call. For <code>p = 
+     * 1.0</code>, this is negative infinity, and the result will be 0. 
+     * For <code>p = 0.0</code>, the result will be 
+     * <code>Long.MAX_VALUE</code>.
+     * 
+     * @param logQ The logarithm of the probability for a failure
+     * @param random The random number generator
+     * @return The number of failures before the next success
+     */
+    static long geometricSkip(double logQ, Random random)
+    {
+        if (logQ == 0.0)
+        {
+            return Long.MAX_VALUE;
+        }
+        // The uniform value is in (0.0, 1.0], so its logarithm is finite
+        double u = 1.0 - random.nextDouble();
+        return (long)Math.floor(Math.log(u) / logQ);
+    }
+    
+    /**
+     * Make sure that the given probability is valid, and throw an 
+     * <code>IllegalArgumentException</code> if not.
+     * 
+     * @param probability The probability
+     * @throws IllegalArgumentException If the probability is not in 
+     * [0.0, 1.0]
+     */
+    static void validateProbability(double probability)
+    {
+        if (!(probability >= 0.0 && probability <= 1.0))
+        {
+            throw new IllegalArgumentException(
+                "The probability must be in [0.0, 1.0], but is " 
+                + probability);
+        }
+    }
+    
     /**
      * Performs a reservoir sampling. Creates an array with the given size,
      * containing distinct random values in the specified range.
@@ -100,6 +300,176 @@ class RandomUtils
         return reservoir;
     }    
     
+    /**
+     * Creates an array with the given size, containing distinct random values 
+     * between the given minimum value (inclusive) and maximum value
+     * (exclusive), in ascending order.<br>
+     * <br>
+     * In contrast to {@link #randomSample(int, int, int, Random)}, the 
+     * effort of this method only depends on the given size, and not on
+     * the size of the range of values.
+     *  
+     * @param size The size of the returned array
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (exclusive)
+     * @param random The random number generator
+     * @return The array
+     * @throws IllegalArgumentException If the size is negative, or the minimum 
+     * is larger than the maximum, or the requested size is larger than the 
+     * difference between the maximum and the minimum
+     */
+    static int[] randomSortedSample(
+        int size, int min, int max, Random random)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("The size may not " 
+                + "be negative, but is " + size);
+        }
+        if (min > max)
+        {
+            throw new IllegalArgumentException("The minimum is " + min 
+                + ", which is larger than the maximum " + max);
+        }
+        if (size > max - min)
+        {
+            throw new IllegalArgumentException(
+                "Can not create a sample of size " + size
+                + " with values between " + min + " and " + max);
+                
+        }
+        int result[] = floydSampling(size, min, max, random);
+        Arrays.sort(result);
+        return result;
+    }
+    
+    /**
+     * Creates an array with the given size, containing random values 
+     * between the given minimum value (inclusive) and maximum value
+     * (exclusive). The values are drawn <i>with replacement</i>, meaning
+     * that the array may contain duplicate values.
+     *  
+     * @param size The size of the returned array
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (exclusive)
+     * @param random The random number generator
+     * @return The array
+     * @throws IllegalArgumentException If the size is negative, or the minimum 
+     * is not smaller than the maximum while the size is positive
+     */
+    static int[] randomSampleWithReplacement(
+        int size, int min, int max, Random random)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("The size may not " 
+                + "be negative, but is " + size);
+        }
+        if (size > 0 && min >= max)
+        {
+            throw new IllegalArgumentException(
+                "Can not create a sample of size " + size
+                + " with values between " + min + " and " + max);
+        }
+        int result[] = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            result[i] = min + random.nextInt(max - min);
+        }
+        return result;
+    }
+    
+    /**
+     * Performs Floyd's sampling algorithm. Creates an array with the given 
+     * size, containing distinct random values in the specified range, 
+     * with an effort that is linear in the given size.
+     * 
+     * @param size The size of the sample
+     * @param min The minimum value (inclusive)
+     * @param max The maximum value (exclusive)
+     * @param random The random number generator
+     * @return The array
+     */
+    private static int[] floydSampling(
+        int size, int min, int max, Random random)
+    {
+        int result[] = new int[size];
+        int n = max - min;
+        
+        // When the sample covers a large part of the range, the selected 
+        // values are marked in an array over the whole range. Otherwise, 
+        // they are stored in a hash table whose size only depends on the
+        // sample size.
+        boolean dense = n / 16 <= size;
+        boolean selected[] = dense ? new boolean[n] : null;
+        int table[] = dense ? null : createHashTable(size);
+        int counter = 0;
+        for (int i = n - size; i < n; i++)
+        {
+            int j = random.nextInt(i + 1);
+            int value = j;
+            if (dense)
+            {
+                if (selected[j])
+                {
+                    value = i;
+                }
+                selected[value] = true;
+            }
+            else if (!addToHashTable(table, j))
+            {
+                value = i;
+                addToHashTable(table, i);
+            }
+            result[counter] = value + min;
+            counter++;
+        }
+        return result;
+    }
+    
+    /**
+     * Creates a hash table for at least the given number of non-negative
+     * <code>int</code> values, to be used with 
+     * {@link #addToHashTable(int[], int)}. The table uses open addressing
+     * with linear probing, and empty slots are marked with -1.
+     * 
+     * @param size The maximum number of values
+     * @return The hash table
+     */
+    private static int[] createHashTable(int size)
+    {
+        int capacity = Integer.highestOneBit(Math.max(size, 1)) * 4;
+        int table[] = new int[capacity];
+        Arrays.fill(table, -1);
+        return table;
+    }
+    
+    /**
+     * Add the given non-negative value to the given hash table that was 
+     * created with {@link #createHashTable(int)}, and return whether it
+     * was not yet contained in the table.
+     * 
+     * @param table The hash table
+     * @param value The value
+     * @return Whether the value was added
+     */
+    private static boolean addToHashTable(int table[], int value)
+    {
+        int mask = table.length - 1;
+        int h = value * 0x9E3779B9;
+        int index = (h ^ (h >>> 16)) & mask;
+        while (table[index] != -1)
+        {
+            if (table[index] == value)
+            {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        return true;
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
@@ -0,0 +1,170 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementation of an unmodifiable view on a range of a list. 
+ * Depending on the mode of this view, it either contains the elements 
+ * of the backing list that are <i>inside</i> the range, or the elements
+ * that are <i>outside</i> of the range. Changes in the backing list will
+ * be visible in this view. The behavior of this view is undefined when 
+ * the backing list is structurally modified.<br>
+ * <br>
+ * Instances are created with the {@link #create} method, which returns 
+ * a view that implements the <code>RandomAccess</code> interface if and
+ * only if the backing list implements it.
+ *
+ * @param <T> The element type
+ */
+class RangeListView<T> extends BackedListView<T>
+{
+    /**
+     * The start index of the range, inclusive
+     */
+    private final int fromIndex;
+    
+    /**
+     * The end index of the range, exclusive
+     */
+    private final int toIndex;
+    
+    /**
+     * Whether this view omits the range, instead of containing it
+     */
+    private final boolean inverse;
+
+    /**
+     * Creates a new instance. The range is assumed to be valid for
+     * the given list.
+     * 
+     * @param list The backing list
+     * @param fromIndex The start index of the range, inclusive
+     * @param toIndex The end index of the range, exclusive
+     * @param inverse Whether the view should omit the range, instead 
+     * of containing it
+     */
+    private RangeListView(List<? extends T> list, 
+        int fromIndex, int toIndex, boolean inverse)
+    {
+        super(list);
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.inverse = inverse;
+    }
+    
+    /**
+     * Creates a new view. The range is assumed to be valid for the given
+     * list.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The backing list
+     * @param fromIndex The start index of the range, inclusive
+     * @param toIndex The end index of the range, exclusive
+     * @param inverse Whether the view should omit the range, instead 
+     * of containing it
+     * @return The view
+     */
+    static <T> RangeListView<T> create(List<? extends T> list, 
+        int fromIndex, int toIndex, boolean inverse)
+    {
+        if (list instanceof RandomAccess)
+        {
+            return new RandomAccessRangeListView<T>(
+                list, fromIndex, toIndex, inverse);
+        }
+        return new RangeListView<T>(list, fromIndex, toIndex, inverse);
+    }
+    
+    /**
+     * Returns whether this view omits the range, instead of containing it
+     * 
+     * @return Whether this view is inverse
+     */
+    boolean isInverse()
+    {
+        return inverse;
+    }
+    
+    @Override
+    boolean isAscending()
+    {
+        return true;
+    }
+    
+    @Override
+    int backingIndex(int index)
+    {
+        if (!inverse)
+        {
+            return fromIndex + index;
+        }
+        if (index < fromIndex)
+        {
+            return index;
+        }
+        return index + toIndex - fromIndex;
+    }
+
+    @Override
+    public int size()
+    {
+        if (!inverse)
+        {
+            return toIndex - fromIndex;
+        }
+        return backingList().size() - (toIndex - fromIndex);
+    }
+    
+    /**
+     * A {@link RangeListView} on a list that implements the 
+     * <code>RandomAccess</code> interface
+     *
+     * @param <T> The element type
+     */
+    private static final class RandomAccessRangeListView<T> 
+        extends RangeListView<T> implements RandomAccess
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param list The backing list
+         * @param fromIndex The start index of the range, inclusive
+         * @param toIndex The end index of the range, exclusive
+         * @param inverse Whether the view should omit the range, instead 
+         * of containing it
+         */
+        RandomAccessRangeListView(List<? extends T> list, 
+            int fromIndex, int toIndex, boolean inverse)
+        {
+            super(list, fromIndex, toIndex, inverse);
+        }
+    }
+}
\ No newline at end of file
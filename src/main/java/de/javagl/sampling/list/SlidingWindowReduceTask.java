@@ -0,0 +1,188 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of a task that applies a function to a range of closed
+ * sliding windows of a list, and reduces the results. The task is split
+ * into sub-tasks until the number of windows is below a threshold. Each
+ * leaf task obtains one state object, and passes it to the function
+ * for all its windows, in ascending order.
+ *
+ * @param <T> The element type
+ * @param <S> The state type
+ * @param <R> The result type
+ */
+class SlidingWindowReduceTask<T, S, R> extends RecursiveTask<R>
+{
+    /**
+     * Serial UID
+     */
+    private static final long serialVersionUID = 4925071372542617063L;
+
+    /**
+     * The input list
+     */
+    private final List<? extends T> input;
+
+    /**
+     * The window size
+     */
+    private final int windowSize;
+
+    /**
+     * The step size
+     */
+    private final int stepSize;
+
+    /**
+     * The supplier for the state of a leaf task
+     */
+    private final Supplier<? extends S> stateSupplier;
+
+    /**
+     * The function that is applied to each window
+     */
+    private final BiFunction<? super S, ? super List<T>, ? extends R> mapper;
+
+    /**
+     * The identity of the reduction
+     */
+    private final R identity;
+
+    /**
+     * The reduction function
+     */
+    private final BinaryOperator<R> reducer;
+
+    /**
+     * The maximum number of windows that are processed without splitting
+     */
+    private final int threshold;
+
+    /**
+     * The index of the first window, inclusive
+     */
+    private final int fromWindow;
+
+    /**
+     * The index of the last window, exclusive
+     */
+    private final int toWindow;
+
+    /**
+     * Creates a new instance
+     *
+     * @param input The input list
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param stateSupplier The state supplier
+     * @param mapper The function for the windows
+     * @param identity The identity of the reduction
+     * @param reducer The reduction function
+     * @param threshold The threshold for splitting
+     * @param fromWindow The first window index, inclusive
+     * @param toWindow The last window index, exclusive
+     */
+    SlidingWindowReduceTask(List<? extends T> input,
+        int windowSize, int stepSize,
+        Supplier<? extends S> stateSupplier,
+        BiFunction<? super S, ? super List<T>, ? extends R> mapper,
+        R identity, BinaryOperator<R> reducer,
+        int threshold, int fromWindow, int toWindow)
+    {
+        this.input = input;
+        this.windowSize = windowSize;
+        this.stepSize = stepSize;
+        this.stateSupplier = stateSupplier;
+        this.mapper = mapper;
+        this.identity = identity;
+        this.reducer = reducer;
+        this.threshold = threshold;
+        this.fromWindow = fromWindow;
+        this.toWindow = toWindow;
+    }
+
+    @Override
+    protected R compute()
+    {
+        if (toWindow - fromWindow <= threshold)
+        {
+            return computeDirectly();
+        }
+        int middle = (fromWindow + toWindow) >>> 1;
+        SlidingWindowReduceTask<T, S, R> left =
+            createSubTask(fromWindow, middle);
+        SlidingWindowReduceTask<T, S, R> right =
+            createSubTask(middle, toWindow);
+        left.fork();
+        R rightResult = right.compute();
+        R leftResult = left.join();
+        return reducer.apply(leftResult, rightResult);
+    }
+
+    /**
+     * Create a task for the given range of windows
+     *
+     * @param from The first window index, inclusive
+     * @param to The last window index, exclusive
+     * @return The task
+     */
+    private SlidingWindowReduceTask<T, S, R> createSubTask(int from, int to)
+    {
+        return new SlidingWindowReduceTask<T, S, R>(input, windowSize,
+            stepSize, stateSupplier, mapper, identity, reducer,
+            threshold, from, to);
+    }
+
+    /**
+     * Process all windows of this task sequentially
+     *
+     * @return The result
+     */
+    private R computeDirectly()
+    {
+        S state = stateSupplier.get();
+        R result = identity;
+        for (int w = fromWindow; w < toWindow; w++)
+        {
+            int fromIndex = w * stepSize;
+            List<T> window = Collections.unmodifiableList(
+                input.subList(fromIndex, fromIndex + windowSize));
+            R windowResult = mapper.apply(state, window);
+            result = reducer.apply(result, windowResult);
+        }
+        return result;
+    }
+}
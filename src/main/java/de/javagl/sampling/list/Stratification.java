@@ -0,0 +1,379 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * A grouping of the indices of a list into strata, based on a key that 
+ * is extracted from each element. Elements with equal keys belong to 
+ * the same stratum. (The strata may also be interpreted as groups of 
+ * elements that must not be separated).<br>
+ * <br>
+ * The indices are stored in a single array, where the indices of each 
+ * stratum are stored contiguously, in ascending order, and the strata
+ * appear in the order in which their keys first appear in the list.
+ */
+class Stratification
+{
+    /**
+     * The indices of the list elements, grouped by stratum
+     */
+    private final int order[];
+    
+    /**
+     * The start indices of the strata in the order array. This array 
+     * has a length of <code>numStrata + 1</code>, and the last element 
+     * is the size of the list.
+     */
+    private final int offsets[];
+
+    /**
+     * Creates a new instance
+     * 
+     * @param order The indices, grouped by stratum
+     * @param offsets The start indices of the strata
+     */
+    private Stratification(int order[], int offsets[])
+    {
+        this.order = order;
+        this.offsets = offsets;
+    }
+    
+    /**
+     * Creates the stratification of the given list. This requires one 
+     * pass over the list for extracting the keys and counting the sizes 
+     * of the strata, and one pass over the indices for sorting them into 
+     * their strata.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The list
+     * @param keyExtractor The function that extracts the key from each 
+     * element
+     * @return The stratification
+     */
+    static <T> Stratification create(
+        List<? extends T> list, Function<? super T, ?> keyExtractor)
+    {
+        int size = list.size();
+        int strata[] = new int[size];
+        int counts[] = new int[16];
+        Map<Object, Integer> stratumIndices = new HashMap<Object, Integer>();
+        int index = 0;
+        for (T element : list)
+        {
+            Object key = keyExtractor.apply(element);
+            Integer stratumIndex = stratumIndices.get(key);
+            if (stratumIndex == null)
+            {
+                stratumIndex = stratumIndices.size();
+                stratumIndices.put(key, stratumIndex);
+                if (stratumIndex == counts.length)
+                {
+                    int newCounts[] = new int[counts.length * 2];
+                    System.arraycopy(counts, 0, newCounts, 0, counts.length);
+                    counts = newCounts;
+                }
+            }
+            strata[index] = stratumIndex;
+            counts[stratumIndex]++;
+            index++;
+        }
+        int numStrata = stratumIndices.size();
+        int offsets[] = new int[numStrata + 1];
+        for (int s = 0; s < numStrata; s++)
+        {
+            offsets[s + 1] = offsets[s] + counts[s];
+        }
+        int positions[] = new int[numStrata];
+        System.arraycopy(offsets, 0, positions, 0, numStrata);
+        int order[] = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            order[positions[strata[i]]++] = i;
+        }
+        return new Stratification(order, offsets);
+    }
+    
+    /**
+     * Returns the number of strata
+     * 
+     * @return The number of strata
+     */
+    int getNumStrata()
+    {
+        return offsets.length - 1;
+    }
+    
+    /**
+     * Shuffles the indices within each stratum
+     * 
+     * @param random The random number generator
+     */
+    void shuffle(Random random)
+    {
+        for (int s = 0; s < getNumStrata(); s++)
+        {
+            int offset = offsets[s];
+            int stratumSize = offsets[s + 1] - offset;
+            for (int i = stratumSize - 1; i > 0; i--)
+            {
+                int j = random.nextInt(i + 1);
+                int t = order[offset + i];
+                order[offset + i] = order[offset + j];
+                order[offset + j] = t;
+            }
+        }
+    }
+    
+    /**
+     * Creates an array containing the indices of a stratified random 
+     * sample. From each stratum, <code>ceil(stratumSize * fraction)</code>
+     * indices will be selected. The indices will be grouped by stratum, 
+     * and appear in random order within each stratum.
+     * 
+     * @param fraction The fraction of each stratum that should be selected,
+     * in (0.0, 1.0]
+     * @param random The random number generator
+     * @return The indices
+     */
+    int[] createSample(double fraction, Random random)
+    {
+        int numStrata = getNumStrata();
+        int sampleSizes[] = new int[numStrata];
+        int totalSize = 0;
+        for (int s = 0; s < numStrata; s++)
+        {
+            int stratumSize = offsets[s + 1] - offsets[s];
+            sampleSizes[s] = (int)Math.ceil(stratumSize * fraction);
+            totalSize += sampleSizes[s];
+        }
+        int result[] = new int[totalSize];
+        int position = 0;
+        for (int s = 0; s < numStrata; s++)
+        {
+            int offset = offsets[s];
+            int stratumSize = offsets[s + 1] - offset;
+            int sample[] = RandomUtils.randomSample(
+                sampleSizes[s], 0, stratumSize, random);
+            for (int i = 0; i < sample.length; i++)
+            {
+                result[position++] = order[offset + sample[i]];
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Creates an array containing the indices of a two-stage cluster 
+     * sample, where the strata are interpreted as clusters. First, the 
+     * given number of strata is selected randomly. Then, from each 
+     * selected stratum, <code>ceil(stratumSize * fraction)</code> indices 
+     * will be selected randomly. The indices will be grouped by stratum, 
+     * and appear in ascending order within each stratum.
+     * 
+     * @param numSelectedStrata The number of strata to select, which may
+     * not be larger than the number of strata
+     * @param fraction The fraction of each selected stratum that should be 
+     * selected, in (0.0, 1.0]
+     * @param random The random number generator
+     * @return The indices
+     */
+    int[] createClusterSample(
+        int numSelectedStrata, double fraction, Random random)
+    {
+        int strata[] = RandomUtils.randomSortedSample(
+            numSelectedStrata, 0, getNumStrata(), random);
+        int sampleSizes[] = new int[numSelectedStrata];
+        int totalSize = 0;
+        for (int i = 0; i < numSelectedStrata; i++)
+        {
+            int s = strata[i];
+            int stratumSize = offsets[s + 1] - offsets[s];
+            sampleSizes[i] = (int)Math.ceil(stratumSize * fraction);
+            totalSize += sampleSizes[i];
+        }
+        int result[] = new int[totalSize];
+        int position = 0;
+        for (int i = 0; i < numSelectedStrata; i++)
+        {
+            int offset = offsets[strata[i]];
+            int stratumSize = offsets[strata[i] + 1] - offset;
+            int sample[] = RandomUtils.randomSortedSample(
+                sampleSizes[i], 0, stratumSize, random);
+            for (int j = 0; j < sample.length; j++)
+            {
+                result[position++] = order[offset + sample[j]];
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Creates an array containing all indices, sorted into the given 
+     * number of folds. Each stratum is divided into the given number of 
+     * chunks, as described in {@link ListSplitting#extractChunks}, and
+     * each fold receives one chunk of each stratum. The assignment of 
+     * chunks to folds is rotated between the strata, so that the sizes 
+     * of the folds differ by at most one.<br>
+     * <br>
+     * The given array will be filled with the start indices of the folds
+     * in the returned array, and must have a length of 
+     * <code>numFolds + 1</code>.
+     * 
+     * @param numFolds The number of folds
+     * @param foldOffsets The array that will store the fold start indices
+     * @return The indices
+     */
+    int[] createFolds(int numFolds, int foldOffsets[])
+    {
+        int numStrata = getNumStrata();
+        int foldSizes[] = new int[numFolds];
+        int rotation = 0;
+        for (int s = 0; s < numStrata; s++)
+        {
+            int stratumSize = offsets[s + 1] - offsets[s];
+            int stepSize = stratumSize / numFolds;
+            int remainder = stratumSize % numFolds;
+            for (int c = 0; c < numFolds; c++)
+            {
+                int chunkSize = c < remainder ? stepSize + 1 : stepSize;
+                foldSizes[(c + rotation) % numFolds] += chunkSize;
+            }
+            rotation = (rotation + remainder) % numFolds;
+        }
+        foldOffsets[0] = 0;
+        for (int f = 0; f < numFolds; f++)
+        {
+            foldOffsets[f + 1] = foldOffsets[f] + foldSizes[f];
+        }
+        int positions[] = new int[numFolds];
+        System.arraycopy(foldOffsets, 0, positions, 0, numFolds);
+        int result[] = new int[order.length];
+        rotation = 0;
+        for (int s = 0; s < numStrata; s++)
+        {
+            int offset = offsets[s];
+            int stratumSize = offsets[s + 1] - offset;
+            int from = 0;
+            for (int c = 0; c < numFolds; c++)
+            {
+                int to = ChunkPartition.computeChunkStart(
+                    stratumSize, numFolds, c + 1);
+                int fold = (c + rotation) % numFolds;
+                System.arraycopy(order, offset + from, 
+                    result, positions[fold], to - from);
+                positions[fold] += to - from;
+                from = to;
+            }
+            rotation = (rotation + stratumSize % numFolds) % numFolds;
+        }
+        return result;
+    }
+    
+    /**
+     * Creates an array containing all indices, sorted into the given 
+     * number of folds, where all indices of one stratum are assigned to 
+     * the same fold.<br>
+     * <br>
+     * The strata are assigned to the folds with the <i>Longest Processing
+     * Time</i> heuristic: The strata are sorted by their size, in 
+     * descending order, and each stratum is assigned to the fold that
+     * currently has the smallest size. (Ties are resolved by choosing 
+     * the fold with the smallest index). This requires 
+     * <code>O(numStrata * (log(numStrata) + numFolds))</code> time, in 
+     * addition to copying the indices. The size of the largest fold 
+     * is at most <code>4/3</code> of the optimal size.<br>
+     * <br>
+     * The indices of each stratum remain in their order. If there are 
+     * fewer strata than folds, then some folds will be empty.<br>
+     * <br>
+     * The given array will be filled with the start indices of the folds
+     * in the returned array, and must have a length of 
+     * <code>numFolds + 1</code>.
+     * 
+     * @param numFolds The number of folds
+     * @param foldOffsets The array that will store the fold start indices
+     * @return The indices
+     */
+    int[] createGroupFolds(int numFolds, int foldOffsets[])
+    {
+        int numStrata = getNumStrata();
+        
+        // Sort the strata by their size in descending order, by sorting 
+        // the negated sizes in the upper and the stratum index in the 
+        // lower 32 bits of long values
+        long sortedStrata[] = new long[numStrata];
+        for (int s = 0; s < numStrata; s++)
+        {
+            long stratumSize = offsets[s + 1] - offsets[s];
+            sortedStrata[s] = (-stratumSize << 32) | s;
+        }
+        Arrays.sort(sortedStrata);
+        
+        int folds[] = new int[numStrata];
+        int foldSizes[] = new int[numFolds];
+        for (int i = 0; i < numStrata; i++)
+        {
+            int s = (int)sortedStrata[i];
+            int minFold = 0;
+            for (int f = 1; f < numFolds; f++)
+            {
+                if (foldSizes[f] < foldSizes[minFold])
+                {
+                    minFold = f;
+                }
+            }
+            folds[s] = minFold;
+            foldSizes[minFold] += offsets[s + 1] - offsets[s];
+        }
+        
+        foldOffsets[0] = 0;
+        for (int f = 0; f < numFolds; f++)
+        {
+            foldOffsets[f + 1] = foldOffsets[f] + foldSizes[f];
+        }
+        int positions[] = new int[numFolds];
+        System.arraycopy(foldOffsets, 0, positions, 0, numFolds);
+        int result[] = new int[order.length];
+        for (int s = 0; s < numStrata; s++)
+        {
+            int stratumSize = offsets[s + 1] - offsets[s];
+            int fold = folds[s];
+            System.arraycopy(order, offsets[s], 
+                result, positions[fold], stratumSize);
+            positions[fold] += stratumSize;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Methods to create random samples from iterators or streams, which may 
+ * be unbounded.<br>
+ * <br>
+ * In contrast to the {@link ListSampling}, the input does not have to be
+ * a fully materialized list. The elements of the input are only fetched 
+ * when they are required for the next element of the sample.
+ */
+public class StreamSampling
+{
+    /**
+     * Create a stream that contains a Bernoulli sample of the elements 
+     * that are provided by the given iterator. Each element is included 
+     * in the sample independently, with the given probability. The 
+     * elements will appear in the order in which they are provided by 
+     * the iterator.<br>
+     * <br>
+     * The sample is not created by drawing one random number for each
+     * element. Instead, the number of elements that are skipped before
+     * the next selected element is drawn from a geometric distribution.
+     * So the number of random numbers that are drawn is linear in the 
+     * size of the sample, and not in the number of elements of the 
+     * input.<br>
+     * <br>
+     * If the probability is 0.0, then the returned stream will be empty,
+     * and the iterator will not be consumed.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input iterator
+     * @param probability The probability for each element to be included
+     * @param random The random number generator
+     * @return The stream
+     * @throws NullPointerException If the input is <code>null</code>
+     * @throws IllegalArgumentException If the probability is not in 
+     * [0.0, 1.0]
+     */
+    public static <T> Stream<T> createBernoulliSample(
+        Iterator<? extends T> input, double probability, Random random)
+    {
+        Iterator<T> iterator = 
+            createBernoulliIterator(input, probability, random);
+        Spliterator<T> spliterator =
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED);
+        Stream<T> stream = StreamSupport.stream(spliterator, false);
+        return stream;
+    }
+
+    /**
+     * Create a stream that contains a Bernoulli sample of the elements of 
+     * the given stream.<br>
+     * <br>
+     * See {@link #createBernoulliSample(Iterator, double, Random)} for 
+     * details. Closing the returned stream will close the given stream.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input stream
+     * @param probability The probability for each element to be included
+     * @param random The random number generator
+     * @return The stream
+     * @throws NullPointerException If the input is <code>null</code>
+     * @throws IllegalArgumentException If the probability is not in 
+     * [0.0, 1.0]
+     */
+    public static <T> Stream<T> createBernoulliSample(
+        Stream<? extends T> input, double probability, Random random)
+    {
+        Objects.requireNonNull(input, "The input is null");
+        Stream<T> stream = createBernoulliSample(
+            input.iterator(), probability, random);
+        return stream.onClose(input::close);
+    }
+
+    /**
+     * Creates the iterator for the Bernoulli sample streams
+     *
+     * @param <T> The element type
+     *
+     * @param input The input iterator
+     * @param probability The probability for each element to be included
+     * @param random The random number generator
+     * @return The iterator
+     * @throws NullPointerException If the input is <code>null</code>
+     * @throws IllegalArgumentException If the probability is not in 
+     * [0.0, 1.0]
+     */
+    private static <T> Iterator<T> createBernoulliIterator(
+        Iterator<? extends T> input, double probability, Random random)
+    {
+        Objects.requireNonNull(input, "The input is null");
+        RandomUtils.validateProbability(probability);
+        double logQ = Math.log1p(-probability);
+        return new Iterator<T>()
+        {
+            /**
+             * Whether the next element was already fetched from the input
+             */
+            private boolean prepared = false;
+
+            /**
+             * Whether the end of the input was reached
+             */
+            private boolean finished = false;
+
+            /**
+             * The next element
+             */
+            private T nextElement = null;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (!prepared && !finished)
+                {
+                    prepared = prepareNext();
+                    finished = !prepared;
+                }
+                return prepared;
+            }
+
+            /**
+             * Try to skip the elements of the input that are not selected,
+             * and fetch the next selected element, and return whether this
+             * succeeded
+             *
+             * @return Whether the next element is available
+             */
+            private boolean prepareNext()
+            {
+                if (probability == 0.0)
+                {
+                    return false;
+                }
+                long skipped = RandomUtils.geometricSkip(logQ, random);
+                for (long i = 0; i < skipped; i++)
+                {
+                    if (!input.hasNext())
+                    {
+                        return false;
+                    }
+                    input.next();
+                }
+                if (!input.hasNext())
+                {
+                    return false;
+                }
+                nextElement = input.next();
+                return true;
+            }
+
+            @Override
+            public T next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException("No more elements");
+                }
+                prepared = false;
+                T result = nextElement;
+                nextElement = null;
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private StreamSampling()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
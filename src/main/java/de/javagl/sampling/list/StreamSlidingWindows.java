@@ -0,0 +1,433 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Methods to create streams of lists that are sliding windows over
+ * iterators or streams, which may be unbounded.<br>
+ * <br>
+ * In contrast to the {@link ListSlidingWindows}, the input does not have
+ * to be a fully materialized list. Only <code>windowSize</code> elements
+ * of the input are kept in a ring buffer at any time, together with the 
+ * elements that have been fetched for the next window.
+ */
+public class StreamSlidingWindows
+{
+    /**
+     * Create a stream that contains lists that are a sliding window over
+     * the elements that are provided by the given iterator. The lists will
+     * be returned in form of unmodifiable lists.<br>
+     * <br>
+     * The windows have the same structure as the ones that are created
+     * by {@link ListSlidingWindows#createClosedSlidingWindow}: The first
+     * window starts at the first element, and each window contains exactly
+     * <code>windowSize</code> elements. If the iterator provides fewer
+     * than <code>windowSize</code> elements, then the stream will be
+     * empty.<br>
+     * <br>
+     * The elements of the iterator are only fetched when they are required
+     * for the next window. The elements are stored in a ring buffer that is
+     * re-used for all windows. This means that a window is only valid until
+     * the next window is obtained from the stream. Any access to a window
+     * after the next window was obtained will cause a
+     * <code>ConcurrentModificationException</code>. If the windows have to
+     * be retained, then <i>copies</i> of them have to be created.<br>
+     * <br>
+     * Since all windows share the same ring buffer, the returned stream 
+     * can not be split. When it is processed in parallel, the windows 
+     * will still be obtained one after another, and operations like 
+     * <code>map(ArrayList::new)</code> that create copies of the windows
+     * will see valid windows. But stream operations that buffer the 
+     * windows themselves, like <code>sorted</code>, will cause a
+     * <code>ConcurrentModificationException</code> when accessing them.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input iterator
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @return The stream
+     * @throws NullPointerException If the input is <code>null</code>
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    public static <T> Stream<List<T>> createClosedSlidingWindow(
+        Iterator<? extends T> input, int windowSize, int stepSize)
+    {
+        Iterator<List<T>> iterator = createSlidingWindowIterator(
+            input, windowSize, stepSize);
+        Spliterator<List<T>> spliterator =
+            new Spliterators.AbstractSpliterator<List<T>>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL)
+        {
+            @Override
+            public boolean tryAdvance(Consumer<? super List<T>> action)
+            {
+                Objects.requireNonNull(action, "The action may not be null");
+                if (!iterator.hasNext())
+                {
+                    return false;
+                }
+                action.accept(iterator.next());
+                return true;
+            }
+
+            @Override
+            public Spliterator<List<T>> trySplit()
+            {
+                // The windows share a single ring buffer. Splitting would
+                // require obtaining multiple windows at once, which would
+                // invalidate all but the last one.
+                return null;
+            }
+        };
+        Stream<List<T>> stream =
+            StreamSupport.stream(spliterator, false);
+        return stream;
+    }
+
+    /**
+     * Create a stream that contains lists that are a sliding window over
+     * the elements of the given stream.<br>
+     * <br>
+     * See {@link #createClosedSlidingWindow(Iterator, int, int)} for
+     * details. Closing the returned stream will close the given stream.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input stream
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @return The stream
+     * @throws NullPointerException If the input is <code>null</code>
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    public static <T> Stream<List<T>> createClosedSlidingWindow(
+        Stream<? extends T> input, int windowSize, int stepSize)
+    {
+        Stream<List<T>> stream = createClosedSlidingWindow(
+            input.iterator(), windowSize, stepSize);
+        return stream.onClose(input::close);
+    }
+
+    /**
+     * Creates the iterator for the sliding window streams.<br>
+     * <br>
+     * Calling <code>hasNext</code> on the returned iterator will fetch 
+     * the elements for the next window from the input, but not modify 
+     * the window that was returned by the last call to <code>next</code>.
+     * This window only becomes invalid when <code>next</code> is called.
+     *
+     * @param <T> The element type
+     *
+     * @param input The input iterator
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @return The iterator
+     * @throws NullPointerException If the input is <code>null</code>
+     * @throws IllegalArgumentException If the window size or the step size
+     * is not positive
+     */
+    static <T> Iterator<List<T>> createSlidingWindowIterator(
+        Iterator<? extends T> input, int windowSize, int stepSize)
+    {
+        Objects.requireNonNull(input, "The input is null");
+        if (windowSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The window size must be positive, but is " + windowSize);
+        }
+        if (stepSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The step size must be positive, but is " + stepSize);
+        }
+        RingBuffer<T> ringBuffer = new RingBuffer<T>(windowSize);
+        return new Iterator<List<T>>()
+        {
+            /**
+             * Whether the ring buffer currently holds the pending elements
+             * for a window that was not yet returned
+             */
+            private boolean prepared = false;
+
+            /**
+             * Whether the input did not provide enough elements for the
+             * next window
+             */
+            private boolean finished = false;
+
+            /**
+             * Whether the first window was already fetched
+             */
+            private boolean started = false;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (!prepared && !finished)
+                {
+                    prepared = prepareNext();
+                    finished = !prepared;
+                }
+                return prepared;
+            }
+
+            /**
+             * Try to fetch the elements for the next window into the 
+             * pending elements of the ring buffer, and return whether 
+             * this succeeded
+             *
+             * @return Whether the next window is available
+             */
+            private boolean prepareNext()
+            {
+                if (!started)
+                {
+                    started = true;
+                    return ringBuffer.fetch(input, 0, windowSize);
+                }
+                if (stepSize >= windowSize)
+                {
+                    int skipped = stepSize - windowSize;
+                    return ringBuffer.fetch(input, skipped, windowSize);
+                }
+                return ringBuffer.fetch(input, 0, stepSize);
+            }
+
+            @Override
+            public List<T> next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException("No more elements");
+                }
+                prepared = false;
+                ringBuffer.commit();
+                return ringBuffer.createView();
+            }
+        };
+    }
+
+    /**
+     * A simple ring buffer with a fixed capacity, which may provide
+     * unmodifiable views on its current contents. New elements are first
+     * fetched into a separate array of pending elements, and only added
+     * to the buffer when they are committed.
+     *
+     * @param <T> The element type
+     */
+    private static class RingBuffer<T>
+    {
+        /**
+         * The elements
+         */
+        private final Object elements[];
+
+        /**
+         * The pending elements, which have been fetched, but not yet 
+         * been committed
+         */
+        private final Object pending[];
+
+        /**
+         * The number of pending elements
+         */
+        private int numPending;
+
+        /**
+         * The index of the oldest element in the elements array
+         */
+        private int head;
+
+        /**
+         * A counter that is incremented each time the contents of this
+         * buffer are modified
+         */
+        private int generation;
+
+        /**
+         * Creates a new ring buffer with the given capacity
+         *
+         * @param capacity The capacity
+         */
+        RingBuffer(int capacity)
+        {
+            this.elements = new Object[capacity];
+            this.pending = new Object[capacity];
+            this.numPending = 0;
+            this.head = 0;
+            this.generation = 0;
+        }
+
+        /**
+         * Skip the given number of elements of the given iterator, and 
+         * fetch the given number of elements from the iterator into the 
+         * pending elements. This does not modify the contents of this 
+         * buffer. Returns whether the iterator provided enough elements.
+         *
+         * @param input The input iterator
+         * @param skipped The number of elements to skip
+         * @param n The number of elements to fetch, at most the capacity
+         * @return Whether all elements have been fetched
+         */
+        boolean fetch(Iterator<? extends T> input, int skipped, int n)
+        {
+            for (int i = 0; i < skipped; i++)
+            {
+                if (!input.hasNext())
+                {
+                    return false;
+                }
+                input.next();
+            }
+            numPending = 0;
+            for (int i = 0; i < n; i++)
+            {
+                if (!input.hasNext())
+                {
+                    return false;
+                }
+                pending[i] = input.next();
+                numPending++;
+            }
+            return true;
+        }
+
+        /**
+         * Add the pending elements to this buffer, overwriting the oldest
+         * elements. This will invalidate all views that have been created
+         * until now.
+         */
+        void commit()
+        {
+            generation++;
+            for (int i = 0; i < numPending; i++)
+            {
+                elements[head] = pending[i];
+                pending[i] = null;
+                head++;
+                if (head == elements.length)
+                {
+                    head = 0;
+                }
+            }
+            numPending = 0;
+        }
+
+        /**
+         * Creates an unmodifiable view on the current contents of this
+         * buffer. The view will throw a
+         * <code>ConcurrentModificationException</code> when it is accessed
+         * after this buffer was modified.
+         *
+         * @return The view
+         */
+        List<T> createView()
+        {
+            int expectedGeneration = generation;
+            int offset = head;
+            return new RingBufferView(expectedGeneration, offset);
+        }
+
+        /**
+         * An unmodifiable view on the contents of a ring buffer
+         */
+        private class RingBufferView extends AbstractListView<T>
+            implements RandomAccess
+        {
+            /**
+             * The generation of the buffer that is valid for
+             * this view
+             */
+            private final int expectedGeneration;
+
+            /**
+             * The index of the first element of this view in the elements
+             * array
+             */
+            private final int offset;
+
+            /**
+             * Creates a new instance
+             *
+             * @param expectedGeneration The expected modification count
+             * @param offset The offset
+             */
+            RingBufferView(int expectedGeneration, int offset)
+            {
+                this.expectedGeneration = expectedGeneration;
+                this.offset = offset;
+            }
+
+            @Override
+            T element(int index)
+            {
+                if (generation != expectedGeneration)
+                {
+                    throw new ConcurrentModificationException(
+                        "The window is no longer valid");
+                }
+                int i = offset + index;
+                if (i >= elements.length)
+                {
+                    i -= elements.length;
+                }
+                @SuppressWarnings("unchecked")
+                T element = (T)elements[i];
+                return element;
+            }
+
+            @Override
+            public int size()
+            {
+                return elements.length;
+            }
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private StreamSlidingWindows()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementation of an unmodifiable view on the elements of a list that
+ * are located at equidistant indices. Depending on the mode of this view,
+ * it either contains the elements at the indices 
+ * <code>start + i * stride</code>, or all <i>other</i> elements of the 
+ * list. Changes in the backing list will be visible in this view. The 
+ * behavior of this view is undefined when the backing list is 
+ * structurally modified.<br>
+ * <br>
+ * Instances are created with the {@link #create} method, which returns 
+ * a view that implements the <code>RandomAccess</code> interface if and
+ * only if the backing list implements it.
+ *
+ * @param <T> The element type
+ */
+class StridedListView<T> extends BackedListView<T>
+{
+    /**
+     * The index of the first element in the backing list
+     */
+    private final int start;
+    
+    /**
+     * The stride
+     */
+    private final int stride;
+    
+    /**
+     * The number of elements at the strided indices
+     */
+    private final int stridedSize;
+    
+    /**
+     * Whether this view omits the elements at the strided indices, 
+     * instead of containing them
+     */
+    private final boolean inverse;
+
+    /**
+     * Creates a new instance. The parameters are assumed to be valid for
+     * the given list. For an inverse view, the start index must be 
+     * smaller than the stride, and the strided indices must extend up 
+     * to the end of the backing list.
+     * 
+     * @param list The backing list
+     * @param start The index of the first element in the backing list
+     * @param stride The stride, which must be positive
+     * @param stridedSize The number of elements at the strided indices
+     * @param inverse Whether the view should omit the elements at the 
+     * strided indices, instead of containing them
+     */
+    private StridedListView(List<? extends T> list, 
+        int start, int stride, int stridedSize, boolean inverse)
+    {
+        super(list);
+        this.start = start;
+        this.stride = stride;
+        this.stridedSize = stridedSize;
+        this.inverse = inverse;
+    }
+    
+    /**
+     * Creates a new view. The parameters are assumed to be valid for
+     * the given list. For an inverse view, the start index must be 
+     * smaller than the stride, and the strided indices must extend up 
+     * to the end of the backing list.
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The backing list
+     * @param start The index of the first element in the backing list
+     * @param stride The stride, which must be positive
+     * @param stridedSize The number of elements at the strided indices
+     * @param inverse Whether the view should omit the elements at the 
+     * strided indices, instead of containing them
+     * @return The view
+     */
+    static <T> StridedListView<T> create(List<? extends T> list, 
+        int start, int stride, int stridedSize, boolean inverse)
+    {
+        if (list instanceof RandomAccess)
+        {
+            return new RandomAccessStridedListView<T>(
+                list, start, stride, stridedSize, inverse);
+        }
+        return new StridedListView<T>(
+            list, start, stride, stridedSize, inverse);
+    }
+    
+    /**
+     * Returns the stride of this view
+     * 
+     * @return The stride
+     */
+    int stride()
+    {
+        return stride;
+    }
+    
+    /**
+     * Returns whether this view omits the elements at the strided indices, 
+     * instead of containing them
+     * 
+     * @return Whether this view is inverse
+     */
+    boolean isInverse()
+    {
+        return inverse;
+    }
+    
+    @Override
+    boolean isAscending()
+    {
+        return true;
+    }
+    
+    @Override
+    int backingIndex(int index)
+    {
+        if (!inverse)
+        {
+            return start + index * stride;
+        }
+        // Each block of stride elements contains (stride - 1) elements 
+        // of this view
+        int blockSize = stride - 1;
+        int block = index / blockSize;
+        int offset = index % blockSize;
+        if (offset >= start)
+        {
+            offset++;
+        }
+        return block * stride + offset;
+    }
+
+    @Override
+    public int size()
+    {
+        if (!inverse)
+        {
+            return stridedSize;
+        }
+        return backingList().size() - stridedSize;
+    }
+    
+    /**
+     * A {@link StridedListView} on a list that implements the 
+     * <code>RandomAccess</code> interface
+     *
+     * @param <T> The element type
+     */
+    private static final class RandomAccessStridedListView<T> 
+        extends StridedListView<T> implements RandomAccess
+    {
+        /**
+         * Creates a new instance
+         * 
+         * @param list The backing list
+         * @param start The index of the first element in the backing list
+         * @param stride The stride, which must be positive
+         * @param stridedSize The number of elements at the strided indices
+         * @param inverse Whether the view should omit the elements at the 
+         * strided indices, instead of containing them
+         */
+        RandomAccessStridedListView(List<? extends T> list, 
+            int start, int stride, int stridedSize, boolean inverse)
+        {
+            super(list, start, stride, stridedSize, inverse);
+        }
+    }
+}
\ No newline at end of file
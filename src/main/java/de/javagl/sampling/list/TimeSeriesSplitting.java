@@ -0,0 +1,230 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Methods to create the {@link TrainTestSplit} instances for the 
+ * cross-validation of time series. The input lists are assumed to be
+ * sorted by time. In each split, the testing list consists of elements
+ * that come after all elements of the training list.<br>
+ * <br>
+ * An optional gap may be inserted between the training list and the 
+ * testing list of each split. The elements in this gap are neither 
+ * part of the training list nor of the testing list. This can be used
+ * to avoid a leakage of information from the training into the testing
+ * list, for example, when the elements are overlapping windows.<br>
+ * <br>
+ * The training and testing lists are unmodifiable views on the input 
+ * list, which are created lazily, when the splits are obtained from the
+ * stream. The returned streams have a known size, and may efficiently 
+ * be processed in parallel.
+ */
+public class TimeSeriesSplitting
+{
+    /**
+     * Creates a stream that provides the splits of an <i>expanding 
+     * window</i> cross-validation of the given list.<br>
+     * <br>
+     * The training list of the first split consists of the first 
+     * <code>minTrainingSize</code> elements. The training list of each
+     * following split is <code>stepSize</code> elements larger. The 
+     * testing list of each split starts <code>gap</code> elements after
+     * the end of the training list, and contains <code>testingSize</code>
+     * elements. The stream ends when the testing list would exceed the 
+     * end of the given list.<br>
+     * <br>
+     * For example, a call with
+     * <pre><code>
+     * list = [ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 ]
+     * minTrainingSize = 3
+     * testingSize = 2
+     * gap = 1
+     * stepSize = 2
+     * </code></pre>
+     * will create a stream that contains the following (training, 
+     * testing) pairs:
+     * <pre><code>
+     * ([ 0, 1, 2 ],             [ 4, 5 ])
+     * ([ 0, 1, 2, 3, 4 ],       [ 6, 7 ])
+     * ([ 0, 1, 2, 3, 4, 5, 6 ], [ 8, 9 ])
+     * </code></pre>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the splits have been obtained
+     * from the stream, the behavior of the splits is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param minTrainingSize The size of the first training list
+     * @param testingSize The size of the testing lists
+     * @param gap The number of elements between the training list and 
+     * the testing list
+     * @param stepSize The step size
+     * @return The stream
+     * @throws IllegalArgumentException If any size is not positive, or 
+     * the gap is negative
+     */
+    public static <T> Stream<TrainTestSplit<T>> createExpandingSplits(
+        List<? extends T> list, int minTrainingSize, int testingSize, 
+        int gap, int stepSize)
+    {
+        return createSplits(
+            list, true, minTrainingSize, testingSize, gap, stepSize);
+    }
+    
+    /**
+     * Creates a stream that provides the splits of a <i>rolling 
+     * origin</i> cross-validation of the given list.<br>
+     * <br>
+     * The training lists are the windows of a 
+     * {@link ListSlidingWindows#createClosedSlidingWindow closed sliding
+     * window} with the given training size and step size. The testing 
+     * list of each split starts <code>gap</code> elements after the end 
+     * of the training list, and contains <code>testingSize</code>
+     * elements. The stream ends when the testing list would exceed the 
+     * end of the given list.<br>
+     * <br>
+     * For example, a call with
+     * <pre><code>
+     * list = [ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 ]
+     * trainingSize = 3
+     * testingSize = 2
+     * gap = 1
+     * stepSize = 2
+     * </code></pre>
+     * will create a stream that contains the following (training, 
+     * testing) pairs:
+     * <pre><code>
+     * ([ 0, 1, 2 ], [ 4, 5 ])
+     * ([ 2, 3, 4 ], [ 6, 7 ])
+     * ([ 4, 5, 6 ], [ 8, 9 ])
+     * </code></pre>
+     * If the given list is modified after this stream has been created, 
+     * the behavior of the stream is unspecified.<br> 
+     * <br>
+     * If the given list is modified after the splits have been obtained
+     * from the stream, the behavior of the splits is unspecified.<br> 
+     * <br>
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param trainingSize The size of the training lists
+     * @param testingSize The size of the testing lists
+     * @param gap The number of elements between the training list and 
+     * the testing list
+     * @param stepSize The step size
+     * @return The stream
+     * @throws IllegalArgumentException If any size is not positive, or 
+     * the gap is negative
+     */
+    public static <T> Stream<TrainTestSplit<T>> createRollingSplits(
+        List<? extends T> list, int trainingSize, int testingSize, 
+        int gap, int stepSize)
+    {
+        return createSplits(
+            list, false, trainingSize, testingSize, gap, stepSize);
+    }
+    
+    /**
+     * Creates the stream of splits for the given parameters
+     * 
+     * @param <T> The element type
+     * 
+     * @param list The input list
+     * @param expanding Whether the training lists should be expanding
+     * @param trainingSize The size of the (first) training list
+     * @param testingSize The size of the testing lists
+     * @param gap The number of elements between the training list and 
+     * the testing list
+     * @param stepSize The step size
+     * @return The stream
+     * @throws IllegalArgumentException If any size is not positive, or 
+     * the gap is negative
+     */
+    private static <T> Stream<TrainTestSplit<T>> createSplits(
+        List<? extends T> list, boolean expanding, int trainingSize, 
+        int testingSize, int gap, int stepSize)
+    {
+        validatePositive(trainingSize, "training size");
+        validatePositive(testingSize, "testing size");
+        validatePositive(stepSize, "step size");
+        if (gap < 0)
+        {
+            throw new IllegalArgumentException(
+                "The gap may not be negative, but is " + gap);
+        }
+        long splitSize = (long)trainingSize + gap + testingSize;
+        long available = list.size() - splitSize;
+        int numSplits = available < 0 ? 0 : (int)(available / stepSize + 1);
+        return IntStream.range(0, numSplits).mapToObj(i -> 
+        {
+            int offset = i * stepSize;
+            int trainingStart = expanding ? 0 : offset;
+            int trainingEnd = offset + trainingSize;
+            int testingStart = trainingEnd + gap;
+            int testingEnd = testingStart + testingSize;
+            List<T> training = ListViews.createRangeView(
+                list, trainingStart, trainingEnd);
+            List<T> testing = ListViews.createRangeView(
+                list, testingStart, testingEnd);
+            return new TrainTestSplit<T>(training, testing);
+        });
+    }
+    
+    /**
+     * Make sure that the given value is positive, and throw an 
+     * <code>IllegalArgumentException</code> if not.
+     * 
+     * @param value The value
+     * @param name The name of the value, for the error message
+     * @throws IllegalArgumentException If the value is not positive
+     */
+    private static void validatePositive(int value, String name)
+    {
+        if (value <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The " + name + " must be positive, but is " + value);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private TimeSeriesSplitting()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ * 
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.sampling.list;
+
+import java.util.List;
+
+/**
+ * A pair of lists that have been created by splitting a list into a 
+ * training list and a testing list, for example, for cross-validation.
+ * The lists are usually unmodifiable views on the original list.
+ *
+ * @param <T> The element type
+ */
+public final class TrainTestSplit<T>
+{
+    /**
+     * The training list
+     */
+    private final List<T> training;
+    
+    /**
+     * The testing list
+     */
+    private final List<T> testing;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param training The training list
+     * @param testing The testing list
+     */
+    TrainTestSplit(List<T> training, List<T> testing)
+    {
+        this.training = training;
+        this.testing = testing;
+    }
+    
+    /**
+     * Returns the training list
+     * 
+     * @return The training list
+     */
+    public List<T> getTraining()
+    {
+        return training;
+    }
+    
+    /**
+     * Returns the testing list
+     * 
+     * @return The testing list
+     */
+    public List<T> getTesting()
+    {
+        return testing;
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "TrainTestSplit[training=" + training 
+            + ", testing=" + testing + "]";
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.grid;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link GridSlidingWindows} class
+ */
+@SuppressWarnings("javadoc")
+public class TestGridSlidingWindows
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidGridSizeError()
+    {
+        List<Integer> input = createList(12);
+        exception.expect(IllegalArgumentException.class);
+        GridSlidingWindows.createSlidingWindow(input, 5, 3, 2, 2, 1, 1);
+    }
+
+    @Test
+    public void testInvalidStrideError()
+    {
+        List<Integer> input = createList(12);
+        exception.expect(IllegalArgumentException.class);
+        GridSlidingWindows.createSlidingWindow(input, 4, 3, 2, 2, 0, 1);
+    }
+
+    @Test
+    public void testBasic()
+    {
+        List<Integer> input = createList(12);
+        List<List<Integer>> actual =
+            GridSlidingWindows.<Integer>createSlidingWindow(
+                input, 4, 3, 2, 2, 2, 1)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = Arrays.asList(
+            Arrays.asList(0, 1, 4, 5),
+            Arrays.asList(2, 3, 6, 7),
+            Arrays.asList(4, 5, 8, 9),
+            Arrays.asList(6, 7, 10, 11)
+        );
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testTooLargeWindow()
+    {
+        List<Integer> input = createList(12);
+        long count = GridSlidingWindows.createSlidingWindow(
+            input, 4, 3, 2, 4, 1, 1).count();
+        assertEquals(0, count);
+    }
+
+    @Test
+    public void testParallel()
+    {
+        int width = 100;
+        int height = 80;
+        List<Integer> input = createList(width * height);
+        List<List<Integer>> expected =
+            GridSlidingWindows.<Integer>createSlidingWindow(
+                input, width, height, 5, 3, 2, 3)
+            .collect(Collectors.toList());
+        List<List<Integer>> actual =
+            GridSlidingWindows.<Integer>createSlidingWindow(
+                input, width, height, 5, 3, 2, 3)
+            .parallel()
+            .collect(Collectors.toList());
+        assertEquals(expected, actual);
+
+        List<Integer> window = actual.get(7);
+        List<Integer> viaSpliterator = window.stream().parallel()
+            .collect(Collectors.toList());
+        assertEquals(window, viaSpliterator);
+        Spliterator<Integer> spliterator = window.spliterator();
+        assertEquals(15, spliterator.getExactSizeIfKnown());
+    }
+
+    /**
+     * Create a list containing the integers in [0,n)
+     *
+     * @param n The size
+     * @return The list
+     */
+    private static List<Integer> createList(int n)
+    {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.grid;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link GridSplitting} class
+ */
+@SuppressWarnings("javadoc")
+public class TestGridSplitting
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidTileIndexError()
+    {
+        List<Integer> input = createList(12);
+        exception.expect(IllegalArgumentException.class);
+        GridSplitting.extractTile(input, 4, 3, 2, 2, 2, 0);
+    }
+
+    @Test
+    public void testExtractTile()
+    {
+        List<Integer> input = createList(15);
+        List<Integer> tile00 =
+            GridSplitting.extractTile(input, 5, 3, 2, 2, 0, 0);
+        List<Integer> tile10 =
+            GridSplitting.extractTile(input, 5, 3, 2, 2, 1, 0);
+        List<Integer> tile01 =
+            GridSplitting.extractTile(input, 5, 3, 2, 2, 0, 1);
+        List<Integer> tile11 =
+            GridSplitting.extractTile(input, 5, 3, 2, 2, 1, 1);
+        assertEquals(Arrays.asList(0, 1, 2, 5, 6, 7), tile00);
+        assertEquals(Arrays.asList(3, 4, 8, 9), tile10);
+        assertEquals(Arrays.asList(10, 11, 12), tile01);
+        assertEquals(Arrays.asList(13, 14), tile11);
+    }
+
+    @Test
+    public void testTilesCoverGrid()
+    {
+        int width = 17;
+        int height = 11;
+        List<Integer> input = createList(width * height);
+        for (int numTilesX = 1; numTilesX < 20; numTilesX++)
+        {
+            for (int numTilesY = 1; numTilesY < 15; numTilesY++)
+            {
+                List<Integer> all = new ArrayList<Integer>();
+                GridSplitting.<Integer>extractTiles(
+                    input, width, height, numTilesX, numTilesY)
+                    .parallel()
+                    .collect(Collectors.toList())
+                    .forEach(all::addAll);
+                Collections.sort(all);
+                assertEquals(input, all);
+            }
+        }
+    }
+
+    @Test
+    public void testTooManyTilesError()
+    {
+        List<Integer> input = createList(12);
+        exception.expect(IllegalArgumentException.class);
+        GridSplitting.extractTiles(input, 4, 3, 65536, 65536);
+    }
+
+    @Test
+    public void testTileBulkOperations()
+    {
+        List<Integer> input = createList(15);
+        List<Integer> tile =
+            GridSplitting.extractTile(input, 5, 3, 2, 2, 0, 0);
+        assertTrue(tile instanceof RandomAccess);
+        assertArrayEquals(new Object[] { 0, 1, 2, 5, 6, 7 }, tile.toArray());
+        assertArrayEquals(new Integer[] { 0, 1, 2, 5, 6, 7 }, 
+            tile.toArray(new Integer[0]));
+        List<Integer> actual = new ArrayList<Integer>();
+        tile.forEach(actual::add);
+        assertEquals(tile, actual);
+        
+        List<Integer> linkedTile = GridSplitting.extractTile(
+            new LinkedList<Integer>(input), 5, 3, 2, 2, 1, 1);
+        assertFalse(linkedTile instanceof RandomAccess);
+        assertEquals(Arrays.asList(13, 14), linkedTile);
+        
+        exception.expect(NullPointerException.class);
+        tile.forEach(null);
+    }
+
+    /**
+     * Create a list containing the integers in [0,n)
+     *
+     * @param n The size
+     * @return The list
+     */
+    private static List<Integer> createList(int n)
+    {
+        return IntStream.range(0, n).boxed().collect(Collectors.toList());
+    }
+
+}
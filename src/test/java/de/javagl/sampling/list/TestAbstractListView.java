@@ -0,0 +1,143 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link AbstractListView} class and its implementations
+ */
+@SuppressWarnings("javadoc")
+public class TestAbstractListView
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidIndexError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<Integer> view = ListSplitting.omitChunk(input, 2, 0);
+        exception.expect(IndexOutOfBoundsException.class);
+        view.get(5);
+    }
+
+    @Test
+    public void testRandomAccess()
+    {
+        List<Integer> input = 
+            new ArrayList<Integer>(TestUtils.createList(10));
+        List<Integer> chunk = ListSplitting.extractChunk(input, 3, 1);
+        List<Integer> omitted = ListSplitting.omitChunk(input, 3, 1);
+        assertTrue(chunk instanceof RandomAccess);
+        assertTrue(omitted instanceof RandomAccess);
+        assertEquals(4, Collections.binarySearch(omitted, 7));
+    }
+
+    @Test
+    public void testNoRandomAccessForLinkedList()
+    {
+        CountingLinkedList input = new CountingLinkedList(1000);
+        List<List<Integer>> views = Arrays.asList(
+            ListSplitting.extractChunk(input, 4, 1),
+            ListSplitting.omitChunk(input, 4, 1),
+            ListSplitting.extractInterleavedChunk(input, 4, 1),
+            ListSplitting.omitInterleavedChunk(input, 4, 1),
+            IndexListView.create(input, new int[] { 7, 3, 5 }));
+        for (List<Integer> view : views)
+        {
+            assertFalse(view instanceof RandomAccess);
+        }
+        
+        input.getCount = 0;
+        List<Integer> chunk = views.get(0);
+        assertEquals(input.subList(250, 500), new ArrayList<Integer>(chunk));
+        List<Integer> omitted = views.get(1);
+        List<Integer> viaForEach = new ArrayList<Integer>();
+        omitted.forEach(viaForEach::add);
+        List<Integer> expected = new ArrayList<Integer>(input.subList(0, 250));
+        expected.addAll(input.subList(500, 1000));
+        assertEquals(expected, viaForEach);
+        assertEquals(expected, 
+            omitted.stream().collect(Collectors.toList()));
+        List<Integer> strided = views.get(2);
+        assertEquals(250, strided.toArray().length);
+        assertEquals(0, input.getCount);
+    }
+
+    @Test
+    public void testToArray()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<Integer> view = IndexListView.create(
+            input, new int[] { 7, 3, 5 });
+        assertArrayEquals(new Object[] { 7, 3, 5 }, view.toArray());
+        assertArrayEquals(new Integer[] { 7, 3, 5 }, 
+            view.toArray(new Integer[0]));
+        Integer larger[] = view.toArray(new Integer[] { 0, 0, 0, 0, 0 });
+        assertArrayEquals(new Integer[] { 7, 3, 5, null, 0 }, larger);
+        
+        List<Integer> viaForEach = new ArrayList<Integer>();
+        view.forEach(viaForEach::add);
+        assertEquals(Arrays.asList(7, 3, 5), viaForEach);
+    }
+
+    @Test
+    public void testSpliterator()
+    {
+        List<Integer> input = 
+            new ArrayList<Integer>(TestUtils.createList(1000));
+        List<Integer> view = ListSplitting.omitChunk(input, 4, 2);
+        Spliterator<Integer> spliterator = view.spliterator();
+        assertEquals(750, spliterator.getExactSizeIfKnown());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(375, prefix.getExactSizeIfKnown());
+        assertEquals(375, spliterator.getExactSizeIfKnown());
+        
+        List<Integer> actual = view.parallelStream()
+            .collect(Collectors.toList());
+        assertEquals(new ArrayList<Integer>(view), actual);
+    }
+    
+    /**
+     * A linked list that counts the calls to its <code>get</code> method
+     */
+    private static class CountingLinkedList extends LinkedList<Integer>
+    {
+        private static final long serialVersionUID = 1L;
+        
+        int getCount = 0;
+        
+        CountingLinkedList(int n)
+        {
+            super(TestUtils.createList(n));
+        }
+        
+        @Override
+        public Integer get(int index)
+        {
+            getCount++;
+            return super.get(index);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ChunkPartition} class
+ */
+@SuppressWarnings("javadoc")
+public class TestChunkPartition
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidNumChunksError()
+    {
+        exception.expect(IllegalArgumentException.class);
+        new ChunkPartition(10, 0);
+    }
+
+    @Test
+    public void testInvalidChunkIndexError()
+    {
+        ChunkPartition partition = new ChunkPartition(10, 3);
+        exception.expect(IllegalArgumentException.class);
+        partition.getFromIndex(3);
+    }
+
+    @Test
+    public void testBasic()
+    {
+        ChunkPartition partition = new ChunkPartition(10, 3);
+        assertEquals(0, partition.getFromIndex(0));
+        assertEquals(4, partition.getToIndex(0));
+        assertEquals(4, partition.getFromIndex(1));
+        assertEquals(7, partition.getToIndex(1));
+        assertEquals(7, partition.getFromIndex(2));
+        assertEquals(10, partition.getToIndex(2));
+        assertEquals(4, partition.getChunkSize(0));
+        assertEquals(3, partition.getChunkSize(2));
+    }
+
+    @Test
+    public void testMoreChunksThanElements()
+    {
+        ChunkPartition partition = new ChunkPartition(2, 4);
+        assertEquals(1, partition.getChunkSize(1));
+        assertEquals(0, partition.getChunkSize(2));
+        assertEquals(2, partition.getFromIndex(3));
+        assertEquals(2, partition.getToIndex(3));
+    }
+
+    @Test
+    public void testConsistentWithListSplitting()
+    {
+        List<Integer> list = TestUtils.createList(23);
+        for (int numChunks = 1; numChunks < 30; numChunks++)
+        {
+            ChunkPartition partition = 
+                new ChunkPartition(list.size(), numChunks);
+            for (int c = 0; c < numChunks; c++)
+            {
+                List<Integer> chunk = 
+                    ListSplitting.extractChunk(list, numChunks, c);
+                List<Integer> expected = list.subList(
+                    partition.getFromIndex(c), partition.getToIndex(c));
+                assertEquals(expected, chunk);
+                assertEquals(partition.getChunkSize(c), chunk.size());
+            }
+        }
+    }
+
+}
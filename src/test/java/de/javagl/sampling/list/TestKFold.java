@@ -0,0 +1,240 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link KFold} class
+ */
+@SuppressWarnings("javadoc")
+public class TestKFold
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidNumFoldsError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        KFold.createFolds(input, 1);
+    }
+    
+    @Test
+    public void testTooManyRepeatedFoldsError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        KFold.createRepeatedFolds(input, 3, Integer.MAX_VALUE / 2, 
+            new Random(0));
+    }
+    
+    @Test
+    public void testFolds()
+    {
+        List<Integer> input = TestUtils.createList(7);
+        List<TrainTestSplit<Integer>> folds = 
+            KFold.<Integer>createFolds(input, 3)
+            .collect(Collectors.toList());
+        assertEquals(3, folds.size());
+        assertEquals(Arrays.asList(3, 4, 5, 6), folds.get(0).getTraining());
+        assertEquals(Arrays.asList(0, 1, 2), folds.get(0).getTesting());
+        assertEquals(Arrays.asList(0, 1, 2, 5, 6), 
+            folds.get(1).getTraining());
+        assertEquals(Arrays.asList(3, 4), folds.get(1).getTesting());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), 
+            folds.get(2).getTraining());
+        assertEquals(Arrays.asList(5, 6), folds.get(2).getTesting());
+        
+        Spliterator<TrainTestSplit<Integer>> spliterator = 
+            KFold.<Integer>createFolds(input, 3).spliterator();
+        assertEquals(3, spliterator.getExactSizeIfKnown());
+    }
+    
+    @Test
+    public void testShuffledFolds()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<TrainTestSplit<Integer>> folds = 
+            KFold.<Integer>createShuffledFolds(input, 3, new Random(0))
+            .collect(Collectors.toList());
+        List<Integer> permutation = new ArrayList<Integer>();
+        for (TrainTestSplit<Integer> fold : folds)
+        {
+            permutation.addAll(fold.getTesting());
+            assertEquals(10, fold.getTraining().size() 
+                + fold.getTesting().size());
+            assertSame(input, 
+                ((BackedListView<?>)fold.getTraining()).backingList());
+            assertSame(input, 
+                ((BackedListView<?>)fold.getTesting()).backingList());
+        }
+        assertEquals(ListSampling.createPermutation(input, new Random(0)), 
+            permutation);
+        Collections.sort(permutation);
+        assertEquals(input, permutation);
+    }
+    
+    @Test
+    public void testStratifiedFolds()
+    {
+        // 95 elements with key 0, and 5 elements with key 1
+        List<Integer> input = TestUtils.createList(100);
+        List<TrainTestSplit<Integer>> folds = 
+            KFold.<Integer>createStratifiedFolds(
+                input, e -> e >= 95 ? 1 : 0, 5, new Random(0))
+            .parallel()
+            .collect(Collectors.toList());
+        List<Integer> allTesting = new ArrayList<Integer>();
+        for (TrainTestSplit<Integer> fold : folds)
+        {
+            List<Integer> testing = fold.getTesting();
+            assertEquals(20, testing.size());
+            assertEquals(80, fold.getTraining().size());
+            assertEquals(1, testing.stream().filter(e -> e >= 95).count());
+            allTesting.addAll(testing);
+            
+            List<Integer> all = new ArrayList<Integer>();
+            all.addAll(fold.getTraining());
+            all.addAll(testing);
+            Collections.sort(all);
+            assertEquals(input, all);
+        }
+        Collections.sort(allTesting);
+        assertEquals(input, allTesting);
+    }
+    
+    @Test
+    public void testStratificationDoesNotReadLinkedListByIndex()
+    {
+        List<Integer> input = new LinkedList<Integer>(
+            TestUtils.createList(100))
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Integer get(int index)
+            {
+                throw new AssertionError("Unexpected access by index");
+            }
+        };
+        Stratification stratification = 
+            Stratification.create(input, e -> e % 3);
+        assertEquals(3, stratification.getNumStrata());
+    }
+    
+    @Test
+    public void testStratifiedFoldSizes()
+    {
+        // Three strata with 4 elements each: Without rotating the 
+        // assignment of chunks to folds, the first fold would receive
+        // 6 elements, and the last one only 3
+        List<Integer> input = TestUtils.createList(12);
+        List<Integer> sizes = KFold.<Integer>createStratifiedFolds(
+                input, e -> e % 3, 3)
+            .map(f -> f.getTesting().size())
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList(4, 4, 4), sizes);
+        
+        List<Integer> firstTesting = KFold.<Integer>createStratifiedFolds(
+            input, e -> e % 3, 3).findFirst().get().getTesting();
+        assertEquals(Arrays.asList(0, 3, 10, 8), firstTesting);
+    }
+    
+    @Test
+    public void testGroupFolds()
+    {
+        // Groups with sizes 7, 5, 4, 3, 3, 2 (keys 0 to 5), interleaved
+        int groupSizes[] = { 7, 5, 4, 3, 3, 2 };
+        List<Integer> input = new ArrayList<Integer>();
+        for (int i = 0; i < 7; i++)
+        {
+            for (int g = 0; g < groupSizes.length; g++)
+            {
+                if (i < groupSizes[g])
+                {
+                    input.add(g);
+                }
+            }
+        }
+        List<TrainTestSplit<Integer>> folds = 
+            KFold.<Integer>createGroupFolds(input, e -> e, 3)
+            .collect(Collectors.toList());
+        
+        // LPT assigns 7 -> 0, 5 -> 1, 4 -> 2, 3 -> 2, 3 -> 1, 2 -> 0
+        assertEquals(Arrays.asList(0, 0, 0, 0, 0, 0, 0, 5, 5), 
+            folds.get(0).getTesting());
+        assertEquals(Arrays.asList(1, 1, 1, 1, 1, 4, 4, 4), 
+            folds.get(1).getTesting());
+        assertEquals(Arrays.asList(2, 2, 2, 2, 3, 3, 3), 
+            folds.get(2).getTesting());
+        for (TrainTestSplit<Integer> fold : folds)
+        {
+            assertEquals(input.size(), fold.getTraining().size() 
+                + fold.getTesting().size());
+            for (Integer g : fold.getTesting())
+            {
+                assertTrue(!fold.getTraining().contains(g));
+            }
+        }
+    }
+    
+    @Test
+    public void testRepeatedFolds()
+    {
+        List<Integer> input = TestUtils.createList(100);
+        List<TrainTestSplit<Integer>> sequential = 
+            KFold.<Integer>createRepeatedFolds(input, 5, 3, new Random(0))
+            .collect(Collectors.toList());
+        List<TrainTestSplit<Integer>> parallel = 
+            KFold.<Integer>createRepeatedFolds(input, 5, 3, new Random(0))
+            .parallel()
+            .collect(Collectors.toList());
+        assertEquals(15, sequential.size());
+        for (int i = 0; i < sequential.size(); i++)
+        {
+            TrainTestSplit<Integer> s = sequential.get(i);
+            TrainTestSplit<Integer> p = parallel.get(i);
+            assertEquals(s.getTraining(), p.getTraining());
+            assertEquals(s.getTesting(), p.getTesting());
+            assertEquals(80, s.getTraining().size());
+            assertEquals(20, s.getTesting().size());
+            
+            List<Integer> all = new ArrayList<Integer>();
+            all.addAll(s.getTraining());
+            all.addAll(s.getTesting());
+            Collections.sort(all);
+            assertEquals(input, all);
+        }
+        
+        // The testing lists of one repetition cover the whole list
+        List<Integer> allTesting = new ArrayList<Integer>();
+        for (int i = 5; i < 10; i++)
+        {
+            allTesting.addAll(sequential.get(i).getTesting());
+        }
+        Collections.sort(allTesting);
+        assertEquals(input, allTesting);
+        assertTrue(!sequential.get(0).getTesting().equals(
+            sequential.get(5).getTesting()));
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListCombinations} class
+ */
+@SuppressWarnings("javadoc")
+public class TestListCombinations
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidSizeError()
+    {
+        exception.expect(IllegalArgumentException.class);
+        ListCombinations.computeNumCombinations(4, 5);
+    }
+    
+    @Test
+    public void testTooManyCombinationsError()
+    {
+        exception.expect(IllegalArgumentException.class);
+        ListCombinations.computeNumCombinations(100, 50);
+    }
+    
+    @Test
+    public void testNumCombinations()
+    {
+        assertEquals(1, ListCombinations.computeNumCombinations(0, 0));
+        assertEquals(6, ListCombinations.computeNumCombinations(4, 2));
+        assertEquals(17310309456440L, 
+            ListCombinations.computeNumCombinations(100, 10));
+        assertEquals(2305843005992468481L, 
+            ListCombinations.computeNumCombinations(Integer.MAX_VALUE, 2));
+    }
+    
+    @Test
+    public void testNumCombinationsAtOverflowBoundary()
+    {
+        assertEquals(7219428434016265740L, 
+            ListCombinations.computeNumCombinations(66, 33));
+        assertEquals(-1, ListCombinations.binomial(67, 33));
+        exception.expect(IllegalArgumentException.class);
+        ListCombinations.computeNumCombinations(67, 33);
+    }
+    
+    @Test
+    public void testCombinations()
+    {
+        List<Integer> input = TestUtils.createList(4);
+        List<List<Integer>> actual = 
+            ListCombinations.<Integer>createCombinations(input, 2)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = Arrays.asList(
+            Arrays.asList(0, 1),
+            Arrays.asList(0, 2),
+            Arrays.asList(0, 3),
+            Arrays.asList(1, 2),
+            Arrays.asList(1, 3),
+            Arrays.asList(2, 3)
+        );
+        assertEquals(expected, actual);
+    }
+    
+    @Test
+    public void testRankAndUnrank()
+    {
+        int n = 12;
+        int p = 5;
+        List<Integer> input = TestUtils.createList(n);
+        List<List<Integer>> all = 
+            ListCombinations.<Integer>createCombinations(input, p)
+            .collect(Collectors.toList());
+        assertEquals(792, all.size());
+        for (int r = 0; r < all.size(); r++)
+        {
+            int indices[] = ListCombinations.computeIndices(n, p, r);
+            List<Integer> expected = all.get(r);
+            assertArrayEquals(
+                expected.stream().mapToInt(i -> i).toArray(), indices);
+            assertEquals(r, ListCombinations.computeRank(n, indices));
+            assertEquals(expected, 
+                ListCombinations.getCombination(input, p, r));
+        }
+        
+        List<List<Integer>> parallel = 
+            ListCombinations.<Integer>createCombinations(input, p)
+            .parallel()
+            .collect(Collectors.toList());
+        assertEquals(all, parallel);
+    }
+    
+    @Test
+    public void testLeavePOut()
+    {
+        List<Integer> input = TestUtils.createList(6);
+        List<TrainTestSplit<Integer>> splits = 
+            ListCombinations.<Integer>createLeavePOutSplits(input, 2)
+            .collect(Collectors.toList());
+        assertEquals(15, splits.size());
+        for (TrainTestSplit<Integer> split : splits)
+        {
+            assertEquals(4, split.getTraining().size());
+            List<Integer> all = new ArrayList<Integer>();
+            all.addAll(split.getTraining());
+            all.addAll(split.getTesting());
+            Collections.sort(all);
+            assertEquals(input, all);
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 5), splits.get(12)
+            .getTraining());
+    }
+    
+    @Test
+    public void testRandomCombination()
+    {
+        List<Integer> input = TestUtils.createList(1000);
+        Random random = new Random(0);
+        for (int i = 0; i < 100; i++)
+        {
+            List<Integer> combination = 
+                ListCombinations.createRandomCombination(input, 5, random);
+            assertEquals(5, combination.size());
+            for (int j = 1; j < combination.size(); j++)
+            {
+                assertTrue(combination.get(j - 1) < combination.get(j));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListKeySlidingWindows} class
+ */
+@SuppressWarnings("javadoc")
+public class TestListKeySlidingWindows
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidWindowDurationError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        ListKeySlidingWindows.createKeySlidingWindow(
+            input, Integer::longValue, 0, 1);
+    }
+
+    @Test
+    public void testInvalidStepDurationError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        ListKeySlidingWindows.createKeySlidingWindow(
+            input, Integer::longValue, 1, 0);
+    }
+
+    @Test
+    public void testBasic()
+    {
+        List<Integer> input = Arrays.asList(0, 3, 7, 12, 13, 27);
+        List<List<Integer>> actual =
+            ListKeySlidingWindows.<Integer>createKeySlidingWindow(
+                input, Integer::longValue, 10, 5)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = Arrays.asList(
+            Arrays.asList(0, 3, 7),
+            Arrays.asList(7, 12, 13),
+            Arrays.asList(12, 13),
+            Arrays.asList(),
+            Arrays.asList(27),
+            Arrays.asList(27)
+        );
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        List<Integer> input = Arrays.asList();
+        List<List<Integer>> actual =
+            ListKeySlidingWindows.<Integer>createKeySlidingWindow(
+                input, Integer::longValue, 10, 5)
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList(), actual);
+    }
+
+    @Test
+    public void testSameAsKeyWindow()
+    {
+        Random random = new Random(0);
+        List<Integer> input = new ArrayList<Integer>();
+        int key = 0;
+        for (int i = 0; i < 200; i++)
+        {
+            key += random.nextInt(5);
+            input.add(key);
+        }
+        long start = -7;
+        long maxStart = key + 10;
+        long windowDuration = 9;
+        long stepDuration = 4;
+        List<List<Integer>> actual =
+            ListKeySlidingWindows.<Integer>createKeySlidingWindow(input,
+                Integer::longValue, start, maxStart,
+                windowDuration, stepDuration)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = new ArrayList<List<Integer>>();
+        for (long k = start; k < maxStart; k += stepDuration)
+        {
+            long s = k;
+            long e = k + windowDuration;
+            List<Integer> window = input.stream()
+                .filter(x -> x >= s && x < e)
+                .collect(Collectors.toList());
+            expected.add(window);
+            assertEquals(window, ListKeySlidingWindows.createKeyWindow(
+                input, Integer::longValue, s, e));
+        }
+        assertEquals(expected, actual);
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListSamplers#createClustered} methods
+ */
+@SuppressWarnings("javadoc")
+public class TestListSamplersClustered
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testTooManySelectedChunksError()
+    {
+        Random random = new Random(0);
+        exception.expect(IllegalArgumentException.class);
+        ListSamplers.createClustered(5, 6, 0.5, random);
+    }
+
+    @Test
+    public void testTooManySelectedClustersError()
+    {
+        List<Integer> input = TestUtils.createList(20);
+        Random random = new Random(0);
+        exception.expect(IllegalArgumentException.class);
+        ListSampling.createClusterSample(input, i -> i % 3, 4, 0.5, random);
+    }
+
+    @Test
+    public void testChunks()
+    {
+        List<Integer> input = TestUtils.createList(100);
+        Random random = new Random(0);
+        ListSampler s = ListSamplers.createClustered(10, 3, 0.5, random);
+        List<List<Integer>> actual = ListSamplers.createList(s, input, 20);
+        for (List<Integer> list : actual)
+        {
+            assertEquals(15, list.size());
+            Set<Integer> chunks = new HashSet<Integer>();
+            for (int i = 0; i < list.size(); i++)
+            {
+                chunks.add(list.get(i) / 10);
+                if (i > 0)
+                {
+                    assertTrue(list.get(i - 1) < list.get(i));
+                }
+            }
+            assertEquals(3, chunks.size());
+        }
+    }
+
+    @Test
+    public void testKeys()
+    {
+        List<Integer> input = TestUtils.createList(100);
+        Random random = new Random(0);
+        ListSampler s = ListSamplers.createClustered(
+            i -> ((Integer)i) % 10, 4, 0.2, random);
+        List<List<Integer>> actual = ListSamplers.createList(s, input, 20);
+        for (List<Integer> list : actual)
+        {
+            assertEquals(8, list.size());
+            Set<Integer> clusters = new HashSet<Integer>();
+            for (int i = 0; i < list.size(); i++)
+            {
+                clusters.add(list.get(i) % 10);
+            }
+            assertEquals(4, clusters.size());
+            for (int i = 0; i < list.size(); i += 2)
+            {
+                assertEquals(list.get(i) % 10, list.get(i + 1) % 10);
+                assertTrue(list.get(i) < list.get(i + 1));
+            }
+        }
+    }
+
+    @Test
+    public void testKeysMoreSelectedThanAvailableError()
+    {
+        List<Integer> input = TestUtils.createList(12);
+        Random random = new Random(0);
+        ListSampler s = ListSamplers.createClustered(
+            i -> ((Integer)i) % 3, 5, 1.0, random);
+        exception.expect(IllegalArgumentException.class);
+        s.createSamples(input);
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListSamplers#createStratifiedWithRelativeSize}
+ * method
+ */
+@SuppressWarnings("javadoc")
+public class TestListSamplersStratified
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testRelativeSizeNotPositiveError()
+    {
+        Random random = new Random(0);
+
+        exception.expect(IllegalArgumentException.class);
+
+        ListSamplers.createStratifiedWithRelativeSize(
+            0.0, Function.identity(), random);
+    }
+
+    @Test
+    public void testProportions()
+    {
+        // 90 elements with key 0, and 10 elements with key 1
+        List<Integer> input = TestUtils.createList(100);
+        Function<Object, ?> keyExtractor = e -> (Integer)e >= 90 ? 1 : 0;
+        Random random = new Random(0);
+
+        ListSampler s = ListSamplers.createStratifiedWithRelativeSize(
+            0.2, keyExtractor, random);
+
+        List<List<Integer>> actual =
+            ListSamplers.createList(s, input, 10);
+
+        for (List<Integer> list : actual)
+        {
+            assertEquals(20, list.size());
+            long minority = list.stream().filter(e -> e >= 90).count();
+            assertEquals(2, minority);
+            assertEquals(20, list.stream().distinct().count());
+        }
+    }
+
+    @Test
+    public void testRoundedUpPerStratum()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<Integer> sample = ListSampling.createStratifiedSample(
+            input, e -> e % 3, 0.1, new Random(0));
+        assertEquals(3, sample.size());
+        assertEquals(0, sample.get(0) % 3);
+        assertEquals(1, sample.get(1) % 3);
+        assertEquals(2, sample.get(2) % 3);
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListSamplers#createSystematic} and 
+ * {@link ListSamplers#createCircularSystematic} methods
+ */
+@SuppressWarnings("javadoc")
+public class TestListSamplersSystematic
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testAbsoluteSizeNotPositiveError()
+    {
+        Random random = new Random(0);
+        exception.expect(IllegalArgumentException.class);
+        ListSamplers.createSystematic(0, random);
+    }
+
+    @Test
+    public void testSystematic()
+    {
+        List<Integer> input = TestUtils.createList(103);
+        Random random = new Random(0);
+        ListSampler s = ListSamplers.createSystematic(10, random);
+        List<List<Integer>> actual = ListSamplers.createList(s, input, 20);
+        for (List<Integer> list : actual)
+        {
+            assertEquals(10, list.size());
+            int start = list.get(0);
+            assertTrue(start < 10);
+            for (int i = 0; i < list.size(); i++)
+            {
+                assertEquals(start + i * 10, (int)list.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCircularSystematic()
+    {
+        List<Integer> input = TestUtils.createList(103);
+        Random random = new Random(0);
+        ListSampler s = ListSamplers.createCircularSystematic(10, random);
+        List<List<Integer>> actual = ListSamplers.createList(s, input, 20);
+        for (List<Integer> list : actual)
+        {
+            assertEquals(10, list.size());
+            assertEquals(10, new HashSet<Integer>(list).size());
+            int start = list.get(0);
+            for (int i = 0; i < list.size(); i++)
+            {
+                assertEquals((start + i * 10) % 103, (int)list.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCircularSystematicWrapsAround()
+    {
+        List<Integer> input = TestUtils.createList(7);
+        List<Integer> sample = null;
+        Random random = new Random(0);
+        while (sample == null || sample.get(0) != 6)
+        {
+            sample = ListSampling.createCircularSystematicSample(
+                input, 3, random);
+        }
+        assertEquals(6, (int)sample.get(0));
+        assertEquals(1, (int)sample.get(1));
+        assertEquals(3, (int)sample.get(2));
+    }
+
+    @Test
+    public void testLargerThanInput()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        Random random = new Random(0);
+        ListSampler s = ListSamplers.createCircularSystematic(25, random);
+        List<List<Integer>> actual = ListSamplers.createList(s, input, 5);
+        for (List<Integer> list : actual)
+        {
+            assertEquals(input, list);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListSampling} class
+ */
+@SuppressWarnings("javadoc")
+public class TestListSampling
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testNegativeRatioError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        ListSampling.createRandomSplit(
+            input, new double[] { 0.5, -0.5 }, new Random(0));
+    }
+    
+    @Test
+    public void testRandomSplit()
+    {
+        List<Integer> input = TestUtils.createList(101);
+        List<List<Integer>> parts = ListSampling.createRandomSplit(
+            input, new double[] { 0.7, 0.15, 0.15 }, new Random(0));
+        assertEquals(3, parts.size());
+        assertEquals(71, parts.get(0).size());
+        assertEquals(15, parts.get(1).size());
+        assertEquals(15, parts.get(2).size());
+        
+        List<Integer> all = new ArrayList<Integer>();
+        parts.forEach(all::addAll);
+        Collections.sort(all);
+        assertEquals(input, all);
+    }
+    
+    @Test
+    public void testRandomSplits()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<List<List<Integer>>> splits = ListSampling.<Integer>
+            createRandomSplits(input, new double[] { 1, 1 }, new Random(0))
+            .limit(20)
+            .collect(Collectors.toList());
+        for (List<List<Integer>> split : splits)
+        {
+            assertEquals(5, split.get(0).size());
+            assertEquals(5, split.get(1).size());
+        }
+        long distinct = splits.stream()
+            .map(s -> new ArrayList<Integer>(s.get(0)))
+            .distinct()
+            .count();
+        assertEquals(20, distinct);
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListSessionWindows} class
+ */
+@SuppressWarnings("javadoc")
+public class TestListSessionWindows
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidGapError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        ListSessionWindows.createSessionWindows(
+            input, Integer::longValue, -1);
+    }
+
+    @Test
+    public void testBasic()
+    {
+        List<Integer> input = Arrays.asList(0, 1, 3, 7, 8, 12);
+        List<List<Integer>> actual =
+            ListSessionWindows.<Integer>createSessionWindows(
+                input, Integer::longValue, 2)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = Arrays.asList(
+            Arrays.asList(0, 1, 3),
+            Arrays.asList(7, 8),
+            Arrays.asList(12)
+        );
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        List<Integer> input = Arrays.asList();
+        List<List<Integer>> actual =
+            ListSessionWindows.<Integer>createSessionWindows(
+                input, Integer::longValue, 2)
+            .collect(Collectors.toList());
+        assertEquals(Arrays.asList(), actual);
+    }
+
+    @Test
+    public void testParallel()
+    {
+        Random random = new Random(0);
+        List<Integer> input = new ArrayList<Integer>();
+        int key = 0;
+        for (int i = 0; i < 100000; i++)
+        {
+            key += random.nextInt(10);
+            input.add(key);
+        }
+        List<List<Integer>> expected =
+            ListSessionWindows.<Integer>createSessionWindows(
+                input, Integer::longValue, 7)
+            .collect(Collectors.toList());
+        List<List<Integer>> actual =
+            ListSessionWindows.<Integer>createSessionWindows(
+                input, Integer::longValue, 7)
+            .parallel()
+            .collect(Collectors.toList());
+        assertEquals(expected, actual);
+        int totalSize = actual.stream().mapToInt(List::size).sum();
+        assertEquals(input.size(), totalSize);
+    }
+
+    @Test
+    public void testSplitWithLongTailSession()
+    {
+        // Sessions of size 10 in the first quarter, followed by one 
+        // long session that covers the remaining elements
+        List<Integer> input = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++)
+        {
+            input.add(i < 250 ? i + (i / 10) * 100 : 30000 + i);
+        }
+        Spliterator<List<Integer>> spliterator =
+            ListSessionWindows.<Integer>createSessionWindows(
+                input, Integer::longValue, 2)
+            .spliterator();
+        Spliterator<List<Integer>> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        
+        List<List<Integer>> expected =
+            ListSessionWindows.<Integer>createSessionWindows(
+                input, Integer::longValue, 2)
+            .collect(Collectors.toList());
+        assertEquals(26, expected.size());
+        List<List<Integer>> actual =
+            ListSessionWindows.<Integer>createSessionWindows(
+                input, Integer::longValue, 2)
+            .parallel()
+            .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+}
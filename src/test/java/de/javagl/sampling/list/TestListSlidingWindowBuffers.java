@@ -0,0 +1,171 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link ListSlidingWindowBuffers} class
+ */
+@SuppressWarnings("javadoc")
+public class TestListSlidingWindowBuffers
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidDilationError()
+    {
+        exception.expect(IllegalArgumentException.class);
+        ListSlidingWindowBuffers.computeNumWindows(10, 3, 1, 0);
+    }
+
+    @Test
+    public void testTargetTooSmallError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        double target[] = new double[10];
+        exception.expect(IllegalArgumentException.class);
+        ListSlidingWindowBuffers.writeWindows(
+            input, Integer::doubleValue, 3, 1, 1, target, 0);
+    }
+
+    @Test
+    public void testNegativeTargetOffsetError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        double target[] = new double[100];
+        exception.expect(IllegalArgumentException.class);
+        ListSlidingWindowBuffers.writeWindows(
+            input, Integer::doubleValue, 3, 1, 1, target, -1);
+    }
+
+    @Test
+    public void testSameAsDilatedViews()
+    {
+        List<Integer> input = TestUtils.createList(30);
+        for (int windowSize = 1; windowSize < 5; windowSize++)
+        {
+            for (int stepSize = 1; stepSize < 6; stepSize++)
+            {
+                for (int dilation = 1; dilation < 5; dilation++)
+                {
+                    double expected[] = ListSlidingWindows
+                        .<Integer>createDilatedSlidingWindow(
+                            input, windowSize, stepSize, dilation)
+                        .flatMap(List::stream)
+                        .mapToDouble(Integer::doubleValue)
+                        .toArray();
+                    double actual[] = new double[expected.length];
+                    ListSlidingWindowBuffers.writeWindows(input, 
+                        Integer::doubleValue, windowSize, stepSize, 
+                        dilation, actual, 0);
+                    assertArrayEquals(expected, actual, 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testValueFunctionCalledOnlyForWindowElements()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<Integer> evaluated = new ArrayList<Integer>();
+        float target[] = new float[6];
+        ListSlidingWindowBuffers.writeWindows(input, i -> 
+        {
+            evaluated.add(i);
+            return i;
+        }, 2, 4, 1, target, 0);
+        assertEquals(Arrays.asList(0, 1, 4, 5, 8, 9), evaluated);
+        float expected[] = { 0, 1, 4, 5, 8, 9 };
+        assertArrayEquals(expected, target, 0.0f);
+    }
+
+    @Test
+    public void testDoubleArray()
+    {
+        List<Integer> input = TestUtils.createList(9);
+        double target[] = new double[10];
+        int numWindows = ListSlidingWindowBuffers.writeWindows(
+            input, Integer::doubleValue, 3, 2, 2, target, 1);
+        assertEquals(3, numWindows);
+        double expected[] = { 0, 0, 2, 4, 2, 4, 6, 4, 6, 8 };
+        assertArrayEquals(expected, target, 0.0);
+    }
+
+    @Test
+    public void testFloatArray()
+    {
+        List<Integer> input = TestUtils.createList(7);
+        float target[] = new float[15];
+        int numWindows = ListSlidingWindowBuffers.writeWindows(
+            input, Integer::doubleValue, 3, 1, 1, target, 0);
+        assertEquals(5, numWindows);
+        float expected[] = { 0, 1, 2, 1, 2, 3, 2, 3, 4, 3, 4, 5, 4, 5, 6 };
+        assertArrayEquals(expected, target, 0.0f);
+    }
+
+    @Test
+    public void testByteBuffers()
+    {
+        List<Integer> input = TestUtils.createList(9);
+        int numWindows = ListSlidingWindowBuffers.computeNumWindows(
+            input.size(), 3, 2, 2);
+
+        ByteBuffer floatBuffer = ByteBuffer.allocateDirect(
+            numWindows * 3 * 4).order(ByteOrder.nativeOrder());
+        ListSlidingWindowBuffers.writeWindowsAsFloats(
+            input, Integer::doubleValue, 3, 2, 2, floatBuffer);
+        assertEquals(0, floatBuffer.remaining());
+        floatBuffer.flip();
+        float actualFloats[] = new float[numWindows * 3];
+        floatBuffer.asFloatBuffer().get(actualFloats);
+        float expectedFloats[] = { 0, 2, 4, 2, 4, 6, 4, 6, 8 };
+        assertArrayEquals(expectedFloats, actualFloats, 0.0f);
+
+        numWindows = ListSlidingWindowBuffers.computeNumWindows(
+            input.size(), 3, 2, 1);
+        ByteBuffer doubleBuffer = ByteBuffer.allocateDirect(
+            numWindows * 3 * 8).order(ByteOrder.nativeOrder());
+        ListSlidingWindowBuffers.writeWindowsAsDoubles(
+            input, Integer::doubleValue, 3, 2, 1, doubleBuffer);
+        doubleBuffer.flip();
+        double actualDoubles[] = new double[numWindows * 3];
+        doubleBuffer.asDoubleBuffer().get(actualDoubles);
+        double expectedDoubles[] = { 0, 1, 2, 2, 3, 4, 4, 5, 6, 6, 7, 8 };
+        assertArrayEquals(expectedDoubles, actualDoubles, 0.0);
+    }
+
+    @Test
+    public void testDilatedViews()
+    {
+        List<Integer> input = TestUtils.createList(9);
+        List<List<Integer>> actual =
+            ListSlidingWindows.<Integer>createDilatedSlidingWindow(
+                input, 3, 2, 2)
+            .parallel()
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = Arrays.asList(
+            Arrays.asList(0, 2, 4),
+            Arrays.asList(2, 4, 6),
+            Arrays.asList(4, 6, 8)
+        );
+        assertEquals(expected, actual);
+    }
+
+}
@@ -5,12 +5,20 @@
  */
 package de.javagl.sampling.list;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.junit.Assume;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -202,5 +210,261 @@ public class TestListSlidingWindows
         assertEquals(expected, actual);
     }
     
+    @Test
+    public void testPaddedClamp()
+    {
+        List<Integer> input = TestUtils.createList(5);
+        Stream<List<Integer>> stream = 
+            ListSlidingWindows.createPaddedSlidingWindow(
+                input, 3, 2, PaddingPolicy.CLAMP, null);
+        List<List<Integer>> actual = stream.collect(Collectors.toList());
+        
+        List<List<Integer>> expected = Arrays.asList(
+            Arrays.asList(0, 0, 0),
+            Arrays.asList(0, 1, 2),
+            Arrays.asList(2, 3, 4),
+            Arrays.asList(4, 4, 4)
+        );
+        assertEquals(expected, actual);
+    }
+    
+    @Test
+    public void testPaddedPolicies()
+    {
+        List<Integer> input = TestUtils.createList(3);
+        int windowSize = 9;
+        int stepSize = 100;
+        
+        List<Integer> constant = paddedWindow(
+            input, windowSize, stepSize, PaddingPolicy.CONSTANT, -1);
+        assertEquals(Arrays.asList(-1, -1, -1, -1, -1, -1, -1, -1, 0), 
+            constant);
+        
+        List<Integer> mirror = paddedWindow(
+            input, windowSize, stepSize, PaddingPolicy.MIRROR, -1);
+        assertEquals(Arrays.asList(1, 0, 0, 1, 2, 2, 1, 0, 0), 
+            mirror);
+
+        List<Integer> wrap = paddedWindow(
+            input, windowSize, stepSize, PaddingPolicy.WRAP, -1);
+        assertEquals(Arrays.asList(1, 2, 0, 1, 2, 0, 1, 2, 0), 
+            wrap);
+    }
+    
+    @Test
+    public void testPaddedMirrorForLargeSizes()
+    {
+        int size = Integer.MAX_VALUE - 1;
+        assertEquals(0, PaddingPolicy.MIRROR.computeIndex(-1, size));
+        assertEquals(size - 1, PaddingPolicy.MIRROR.computeIndex(size, size));
+        assertEquals(size - 2, 
+            PaddingPolicy.MIRROR.computeIndex(size + 1, size));
+    }
+    
+    @Test
+    public void testPaddedEmpty()
+    {
+        List<Integer> input = TestUtils.createList(0);
+        Stream<List<Integer>> stream = 
+            ListSlidingWindows.createPaddedSlidingWindow(
+                input, 3, 1, PaddingPolicy.WRAP, null);
+        assertEquals(0, stream.count());
+    }
+    
+    @Test
+    public void testMapReduce()
+    {
+        List<Integer> input = TestUtils.createList(10000);
+        int windowSize = 50;
+        int stepSize = 3;
+        long expected = ListSlidingWindows.<Integer>createClosedSlidingWindow(
+            input, windowSize, stepSize)
+            .mapToLong(w -> w.stream().mapToLong(Integer::longValue).sum())
+            .sum();
+        
+        ForkJoinPool pool = new ForkJoinPool(4);
+        long actual = ListSlidingWindows.<Integer, Long>
+            mapReduceClosedSlidingWindow(input, windowSize, stepSize, 
+                w -> w.stream().mapToLong(Integer::longValue).sum(), 
+                0L, Long::sum, pool);
+        assertEquals(expected, actual);
+        
+        // Compute the sums incrementally, using a state that stores the 
+        // start index and the sum of the previous window of each task
+        long actualIncremental = ListSlidingWindows.
+            <Integer, long[], Long>mapReduceClosedSlidingWindow(
+                input, windowSize, stepSize, () -> new long[] { -1, 0 }, 
+                (s, w) -> 
+                {
+                    int start = w.get(0);
+                    long sum = 0;
+                    if (s[0] < 0)
+                    {
+                        sum = w.stream().mapToLong(Integer::longValue).sum();
+                    }
+                    else
+                    {
+                        int previousStart = (int)s[0];
+                        sum = s[1];
+                        for (int i = previousStart; i < start; i++)
+                        {
+                            sum -= input.get(i);
+                            sum += input.get(i + windowSize);
+                        }
+                    }
+                    s[0] = start;
+                    s[1] = sum;
+                    return sum;
+                },
+                0L, Long::sum, pool);
+        assertEquals(expected, actualIncremental);
+        pool.shutdown();
+    }
+    
+    @Test
+    public void testMapReduceOrder()
+    {
+        List<Integer> input = TestUtils.createList(1000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<Integer> firsts = ListSlidingWindows.<Integer, List<Integer>>
+            mapReduceClosedSlidingWindow(input, 5, 2, 
+                w -> Collections.singletonList(w.get(0)), 
+                Collections.emptyList(), (a, b) -> 
+                {
+                    List<Integer> result = new ArrayList<Integer>(a);
+                    result.addAll(b);
+                    return result;
+                }, pool);
+        List<Integer> expected = 
+            ListSlidingWindows.<Integer>createClosedSlidingWindow(input, 5, 2)
+            .map(w -> w.get(0))
+            .collect(Collectors.toList());
+        assertEquals(expected, firsts);
+        pool.shutdown();
+    }
+    
+    @Test
+    public void testForEachClosedSlidingWindow()
+    {
+        List<Integer> input = TestUtils.createList(9);
+        List<List<Integer>> actual = new ArrayList<List<Integer>>();
+        ListSlidingWindows.<Integer>forEachClosedSlidingWindow(
+            input, 5, 2, w -> actual.add(new ArrayList<Integer>(w)));
+        List<List<Integer>> expected = 
+            ListSlidingWindows.<Integer>createClosedSlidingWindow(
+                input, 5, 2)
+            .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+    
+    @Test
+    public void testForEachClosedSlidingWindowAllocation()
+    {
+        java.lang.management.ThreadMXBean threadMXBean = 
+            ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(
+            threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean bean = 
+            (com.sun.management.ThreadMXBean)threadMXBean;
+        Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+        
+        int size = 100000;
+        List<Integer> input = TestUtils.createList(size);
+        long sum[] = { 0 };
+        Consumer<List<Integer>> consumer = w -> 
+        {
+            for (int i = 0; i < w.size(); i++)
+            {
+                sum[0] += w.get(i);
+            }
+        };
+        
+        // Warm up, so that the measurement is not affected by the JIT
+        for (int i = 0; i < 20; i++)
+        {
+            ListSlidingWindows.forEachClosedSlidingWindow(
+                input, 10, 1, consumer);
+        }
+        
+        long threadId = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(threadId);
+        ListSlidingWindows.forEachClosedSlidingWindow(
+            input, 10, 1, consumer);
+        long after = bean.getThreadAllocatedBytes(threadId);
+        
+        // A single allocation per window would require at least 16 bytes
+        // for each of the windows. The bound is far below that, but 
+        // leaves plenty of room for measurement overhead.
+        assertTrue(after - before < size);
+        assertTrue(sum[0] > 0);
+    }
+    
+    @Test
+    public void testRandomSlidingWindows()
+    {
+        List<Integer> input = TestUtils.createList(1000000);
+        int windowSize = 10;
+        int stepSize = 3;
+        Random random = new Random(0);
+        
+        List<List<Integer>> distinct = 
+            ListSlidingWindows.<Integer>createRandomSlidingWindows(
+                input, windowSize, stepSize, 100, false, random)
+            .collect(Collectors.toList());
+        assertEquals(100, distinct.size());
+        int previousStart = -1;
+        for (List<Integer> window : distinct)
+        {
+            assertEquals(windowSize, window.size());
+            int start = window.get(0);
+            assertEquals(0, start % stepSize);
+            assertTrue(start > previousStart);
+            previousStart = start;
+        }
+
+        List<List<Integer>> all = 
+            ListSlidingWindows.<Integer>createRandomSlidingWindows(
+                TestUtils.createList(20), 5, 5, 4, false, random)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = 
+            ListSlidingWindows.<Integer>createClosedSlidingWindow(
+                TestUtils.createList(20), 5, 5)
+            .collect(Collectors.toList());
+        assertEquals(expected, all);
+        
+        long count = ListSlidingWindows.createRandomSlidingWindows(
+            TestUtils.createList(20), 5, 5, 50, true, random).count();
+        assertEquals(50, count);
+    }
+    
+    @Test
+    public void testRandomSlidingWindowsTooManyError()
+    {
+        List<Integer> input = TestUtils.createList(20);
+        exception.expect(IllegalArgumentException.class);
+        ListSlidingWindows.createRandomSlidingWindows(
+            input, 5, 5, 5, false, new Random(0));
+    }
+    
+    /**
+     * Returns the first padded window for the given parameters
+     * 
+     * @param input The input
+     * @param windowSize The window size
+     * @param stepSize The step size
+     * @param paddingPolicy The padding policy
+     * @param fillValue The fill value
+     * @return The first window
+     */
+    private static List<Integer> paddedWindow(List<Integer> input, 
+        int windowSize, int stepSize, PaddingPolicy paddingPolicy, 
+        Integer fillValue)
+    {
+        return ListSlidingWindows.<Integer>createPaddedSlidingWindow(
+            input, windowSize, stepSize, paddingPolicy, fillValue)
+            .findFirst().get();
+    }
+    
 
 }
@@ -9,9 +9,11 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -52,6 +54,110 @@ public class TestListSplitting
         ListSplitting.extractChunk(input, 3, 3);
     }
     
+    @Test
+    public void testNegativeCostError()
+    {
+        List<Integer> input = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        exception.expect(IllegalArgumentException.class);        
+        ListSplitting.extractCostBalancedChunks(input, i -> i - 5, 2);
+    }
+
+    @Test
+    public void testExtractCostBalancedChunks()
+    {
+        // The elements have costs 100, 1, 1, ..., so the first chunk 
+        // should only contain the first element
+        List<Integer> input = new ArrayList<Integer>();
+        input.add(100);
+        input.addAll(Collections.nCopies(100, 1));
+        List<List<Integer>> chunks = ListSplitting.<Integer>
+            extractCostBalancedChunks(input, i -> i, 2)
+            .collect(Collectors.toList());
+        assertEquals(2, chunks.size());
+        assertEquals(1, chunks.get(0).size());
+        assertEquals(100, chunks.get(1).size());
+        
+        List<Integer> uniform = TestUtils.createList(12);
+        List<List<Integer>> uniformChunks = ListSplitting.<Integer>
+            extractCostBalancedChunks(uniform, i -> 1.0, 3)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = Arrays.asList(
+            Arrays.asList(0, 1, 2, 3),
+            Arrays.asList(4, 5, 6, 7),
+            Arrays.asList(8, 9, 10, 11)
+        );
+        assertEquals(expected, uniformChunks);
+    }
+    
+    @Test
+    public void testInterleavedChunks()
+    {
+        List<Integer> input = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        List<List<Integer>> chunks = ListSplitting.<Integer>
+            extractInterleavedChunks(input, 3)
+            .parallel()
+            .collect(Collectors.toList());
+        List<List<Integer>> expectedChunks = Arrays.asList(
+            Arrays.asList(0, 3, 6, 9),
+            Arrays.asList(1, 4, 7),
+            Arrays.asList(2, 5, 8)
+        );
+        assertEquals(expectedChunks, chunks);
+        
+        List<List<Integer>> omitted = ListSplitting.<Integer>
+            omitInterleavedChunks(input, 3)
+            .collect(Collectors.toList());
+        List<List<Integer>> expectedOmitted = Arrays.asList(
+            Arrays.asList(1, 2, 4, 5, 7, 8),
+            Arrays.asList(0, 2, 3, 5, 6, 8, 9),
+            Arrays.asList(0, 1, 3, 4, 6, 7, 9)
+        );
+        assertEquals(expectedOmitted, omitted);
+        
+        assertEquals(Collections.emptyList(), 
+            ListSplitting.extractInterleavedChunk(input, 12, 11));
+        assertEquals(input, 
+            ListSplitting.omitInterleavedChunk(input, 12, 11));
+        assertEquals(Collections.emptyList(), 
+            ListSplitting.omitInterleavedChunk(input, 1, 0));
+    }
+    
+    @Test
+    public void testHashPartitions()
+    {
+        List<Integer> input = TestUtils.createList(1000);
+        List<List<Integer>> partitions = ListSplitting.<Integer>
+            extractHashPartitions(input, i -> i % 37, 4)
+            .collect(Collectors.toList());
+        assertEquals(4, partitions.size());
+        
+        Set<Integer> all = new LinkedHashSet<Integer>();
+        for (List<Integer> partition : partitions)
+        {
+            Set<Integer> keys = new LinkedHashSet<Integer>();
+            for (int i = 0; i < partition.size(); i++)
+            {
+                keys.add(partition.get(i) % 37);
+                if (i > 0)
+                {
+                    assertTrue(partition.get(i - 1) < partition.get(i));
+                }
+            }
+            for (List<Integer> other : partitions)
+            {
+                if (other != partition)
+                {
+                    for (Integer e : other)
+                    {
+                        assertFalse(keys.contains(e % 37));
+                    }
+                }
+            }
+            all.addAll(partition);
+        }
+        assertEquals(1000, all.size());
+    }
+    
     @Test
     public void testExtractChunk()
     {
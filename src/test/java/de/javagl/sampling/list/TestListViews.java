@@ -0,0 +1,157 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ListViews} class
+ */
+@SuppressWarnings("javadoc")
+public class TestListViews
+{
+    @Test
+    public void testRangeOfRange()
+    {
+        List<Integer> input = TestUtils.createList(20);
+        List<Integer> outer = ListViews.createRangeView(input, 5, 15);
+        List<Integer> inner = ListViews.createRangeView(outer, 2, 6);
+        assertEquals(Arrays.asList(7, 8, 9, 10), inner);
+        assertSame(input, ((BackedListView<?>)inner).backingList());
+    }
+    
+    @Test
+    public void testInverseOfRange()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<Integer> outer = ListViews.createRangeView(input, 2, 8);
+        List<Integer> inner = ListViews.createInverseRangeView(outer, 1, 3);
+        assertEquals(Arrays.asList(2, 5, 6, 7), inner);
+        assertSame(outer, ((BackedListView<?>)inner).backingList());
+        
+        List<Integer> range = ListViews.createRangeView(inner, 1, 3);
+        assertEquals(Arrays.asList(5, 6), range);
+        assertSame(inner, ((BackedListView<?>)range).backingList());
+    }
+    
+    @Test
+    public void testRangeOfStrided()
+    {
+        List<Integer> input = TestUtils.createList(20);
+        List<Integer> strided = 
+            StridedListView.create(input, 1, 3, 7, false);
+        List<Integer> range = ListViews.createRangeView(strided, 2, 5);
+        assertEquals(Arrays.asList(7, 10, 13), range);
+        assertTrue(range instanceof StridedListView<?>);
+        assertSame(input, ((BackedListView<?>)range).backingList());
+        
+        List<Integer> empty = ListViews.createRangeView(strided, 7, 7);
+        assertTrue(empty.isEmpty());
+    }
+    
+    @Test
+    public void testRangeOfCircularStrided()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<Integer> circular = 
+            CircularStridedListView.create(input, 7, 2, 5);
+        assertEquals(Arrays.asList(7, 9, 1, 3, 5), circular);
+        List<Integer> range = ListViews.createRangeView(circular, 1, 4);
+        assertEquals(Arrays.asList(9, 1, 3), range);
+        assertTrue(range instanceof CircularStridedListView<?>);
+        assertSame(input, ((BackedListView<?>)range).backingList());
+    }
+    
+    @Test
+    public void testRangesOfInverseStridedAreNotFlattened()
+    {
+        List<Integer> input = TestUtils.createList(12);
+        List<Integer> inverse = 
+            StridedListView.create(input, 1, 3, 4, true);
+        assertEquals(Arrays.asList(0, 2, 3, 5, 6, 8, 9, 11), inverse);
+        
+        List<Integer> range = ListViews.createRangeView(inverse, 2, 6);
+        assertEquals(Arrays.asList(3, 5, 6, 8), range);
+        assertTrue(range instanceof RangeListView<?>);
+        assertSame(inverse, ((BackedListView<?>)range).backingList());
+        
+        List<Integer> omitted = 
+            ListViews.createInverseRangeView(inverse, 2, 6);
+        assertEquals(Arrays.asList(0, 2, 9, 11), omitted);
+        assertTrue(omitted instanceof RangeListView<?>);
+        assertSame(inverse, ((BackedListView<?>)omitted).backingList());
+    }
+    
+    @Test
+    public void testRangeOfInverseIndexView()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        int indices[] = { 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+        List<Integer> view = ListViews.createIndexView(input, indices);
+        List<Integer> inverse = ListViews.createInverseRangeView(view, 2, 5);
+        assertEquals(Arrays.asList(9, 8, 4, 3, 2, 1, 0), inverse);
+        assertEquals(Arrays.asList(8, 4, 3), 
+            ListViews.createRangeView(inverse, 1, 4));
+        assertEquals(Arrays.asList(9, 8), 
+            ListViews.createRangeView(inverse, 0, 2));
+        assertEquals(Arrays.asList(3, 2), 
+            ListViews.createRangeView(inverse, 3, 5));
+        assertEquals(Arrays.asList(9, 8, 2, 1, 0), 
+            ListViews.createInverseRangeView(inverse, 2, 4));
+    }
+    
+    @Test
+    public void testEmptyRangeAtOmittedRange()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        int indices[] = { 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+        IndexListView<Integer> view = IndexListView.create(input, indices);
+        IndexListView<Integer> omitted = 
+            IndexListView.createInverseRange(view, 6, 9);
+        assertEquals(Arrays.asList(9, 8, 7, 6, 5, 4, 0), omitted);
+        for (int i = 0; i <= omitted.size(); i++)
+        {
+            assertEquals(0, IndexListView.createRange(omitted, i, i).size());
+            assertTrue(ListViews.createRangeView(omitted, i, i).isEmpty());
+        }
+        
+        List<Integer> permutation = 
+            ListSampling.createPermutation(input, new Random(0));
+        List<Integer> chunk = ListSplitting.extractChunk(
+            ListSplitting.omitChunk(permutation, 3, 2), 10, 9);
+        assertTrue(chunk.isEmpty());
+        assertEquals("[]", chunk.toString());
+    }
+    
+    @Test
+    public void testNestedSamplingAndSplitting()
+    {
+        List<Integer> input = TestUtils.createList(100000);
+        Random random = new Random(0);
+        List<Integer> current = input;
+        List<Integer> expected = new ArrayList<Integer>(input);
+        for (int i = 0; i < 4; i++)
+        {
+            current = ListSampling.createSample(
+                current, current.size() / 2, random);
+            current = ListSplitting.omitChunk(current, 3, 1);
+            current = ListSplitting.extractChunk(current, 2, 0);
+            assertSame(input, ((BackedListView<?>)current).backingList());
+        }
+        assertTrue(expected.containsAll(current));
+        assertEquals(current.size(), 
+            current.stream().distinct().count());
+    }
+
+}
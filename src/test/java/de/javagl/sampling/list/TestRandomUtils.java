@@ -5,8 +5,11 @@
  */
 package de.javagl.sampling.list;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.IntSummaryStatistics;
 import java.util.LinkedHashMap;
@@ -33,6 +36,88 @@ public class TestRandomUtils
         testRandomSampling(100, 100, 200);
     }
     
+    @Test
+    public void testRandomSortedSampling()
+    {
+        int runs = 10000;
+        Map<Integer, Integer> counts = new LinkedHashMap<Integer, Integer>();
+        for (int i = 0; i < 100; i++)
+        {
+            counts.put(i, 0);
+        }
+        for (int i = 0; i < runs; i++)
+        {
+            int sample[] = 
+                RandomUtils.randomSortedSample(10, 0, 100, new Random(i));
+            for (int j = 0; j < sample.length; j++)
+            {
+                if (j > 0)
+                {
+                    assertTrue(sample[j - 1] < sample[j]);
+                }
+                counts.computeIfPresent(sample[j], (v, c) -> c + 1);
+            }
+        }
+        assertEqualDistribution(counts.values());
+    }
+    
+    @Test
+    public void testRandomSortedSampleSparse()
+    {
+        Random random = new Random(0);
+        for (int i = 0; i < 100; i++)
+        {
+            int sample[] = RandomUtils.randomSortedSample(
+                50, -1000, 1000000, random);
+            assertEquals(50, sample.length);
+            for (int j = 0; j < sample.length; j++)
+            {
+                assertTrue(sample[j] >= -1000 && sample[j] < 1000000);
+                if (j > 0)
+                {
+                    assertTrue(sample[j - 1] < sample[j]);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testRandomPermutation()
+    {
+        int permutation[] = RandomUtils.randomPermutation(100, new Random(0));
+        int sorted[] = permutation.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(IntStream.range(0, 100).toArray(), sorted);
+    }
+    
+    @Test
+    public void testBernoulliSample()
+    {
+        Map<Integer, Integer> counts = new LinkedHashMap<Integer, Integer>();
+        for (int i = 0; i < 100; i++)
+        {
+            counts.put(i, 0);
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++)
+        {
+            int sample[] = RandomUtils.bernoulliSample(100, 0.1, random);
+            for (int j = 0; j < sample.length; j++)
+            {
+                if (j > 0)
+                {
+                    assertTrue(sample[j - 1] < sample[j]);
+                }
+                counts.computeIfPresent(sample[j], (v, c) -> c + 1);
+            }
+        }
+        assertEqualDistribution(counts.values());
+        int all[] = RandomUtils.bernoulliSample(100, 1.0, new Random(0));
+        assertArrayEquals(IntStream.range(0, 100).toArray(), all);
+        int none[] = RandomUtils.bernoulliSample(100, 0.0, new Random(0));
+        assertArrayEquals(new int[0], none);
+    }
+    
     /**
      * Call {@link RandomUtils#randomSample(int, int, int, Random)} with 
      * the given parameters and different random number generators for
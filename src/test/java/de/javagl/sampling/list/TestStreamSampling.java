@@ -0,0 +1,148 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link StreamSampling} class
+ */
+@SuppressWarnings("javadoc")
+public class TestStreamSampling
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidProbabilityError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        StreamSampling.createBernoulliSample(
+            input.iterator(), 1.5, new Random(0));
+    }
+
+    @Test
+    public void testProbabilityOne()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<Integer> actual = StreamSampling.<Integer>createBernoulliSample(
+            input.stream(), 1.0, new Random(0))
+            .collect(Collectors.toList());
+        assertEquals(input, actual);
+    }
+
+    @Test
+    public void testProbabilityZeroDoesNotConsume()
+    {
+        Iterator<Integer> iterator = 
+            Stream.iterate(0, i -> i + 1).iterator();
+        long count = StreamSampling.createBernoulliSample(
+            iterator, 0.0, new Random(0)).count();
+        assertEquals(0, count);
+        assertEquals(0, (int)iterator.next());
+    }
+
+    @Test
+    public void testSameAsListSample()
+    {
+        List<Integer> input = TestUtils.createList(10000);
+        List<Integer> expected = ListSampling.createBernoulliSample(
+            input, 0.01, new Random(0));
+        List<Integer> actual = StreamSampling.<Integer>createBernoulliSample(
+            input.stream(), 0.01, new Random(0))
+            .collect(Collectors.toList());
+        assertEquals(expected, actual);
+        for (int i = 1; i < actual.size(); i++)
+        {
+            assertTrue(actual.get(i - 1) < actual.get(i));
+        }
+    }
+
+    @Test
+    public void testExpectedSize()
+    {
+        Random random = new Random(0);
+        long count = StreamSampling.createBernoulliSample(
+            IntStream.range(0, 1000000).boxed(), 0.001, random).count();
+        assertTrue("Count was " + count, count > 850 && count < 1150);
+    }
+
+    @Test
+    public void testUnboundedInput()
+    {
+        List<Integer> actual = StreamSampling.<Integer>createBernoulliSample(
+            Stream.iterate(0, i -> i + 1), 0.5, new Random(0))
+            .limit(100)
+            .collect(Collectors.toList());
+        assertEquals(100, actual.size());
+    }
+
+    @Test
+    public void testCloseClosesInput()
+    {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Stream<Integer> input = TestUtils.createList(10).stream()
+            .onClose(() -> closed.set(true));
+        StreamSampling.createBernoulliSample(
+            input, 0.5, new Random(0)).close();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testNullStreamError()
+    {
+        exception.expect(NullPointerException.class);
+        StreamSampling.createBernoulliSample(
+            (Stream<Integer>)null, 0.5, new Random(0));
+    }
+
+    @Test
+    public void testNoRandomNumbersAfterExhaustion()
+    {
+        AtomicInteger draws = new AtomicInteger();
+        Random random = new Random(0)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected int next(int bits)
+            {
+                draws.incrementAndGet();
+                return super.next(bits);
+            }
+        };
+        List<Integer> input = TestUtils.createList(10);
+        Iterator<Integer> iterator = StreamSampling.<Integer>
+            createBernoulliSample(input.iterator(), 0.5, random).iterator();
+        while (iterator.hasNext())
+        {
+            iterator.next();
+        }
+        int drawsAtEnd = draws.get();
+        for (int i = 0; i < 10; i++)
+        {
+            assertFalse(iterator.hasNext());
+        }
+        assertEquals(drawsAtEnd, draws.get());
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link StreamSlidingWindows} class
+ */
+@SuppressWarnings("javadoc")
+public class TestStreamSlidingWindows
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testInvalidWindowSizeError()
+    {
+        exception.expect(IllegalArgumentException.class);
+        StreamSlidingWindows.createClosedSlidingWindow(
+            TestUtils.createList(10).iterator(), 0, 1);
+    }
+
+    @Test
+    public void testInvalidStepSizeError()
+    {
+        exception.expect(IllegalArgumentException.class);
+        StreamSlidingWindows.createClosedSlidingWindow(
+            TestUtils.createList(10).iterator(), 2, 0);
+    }
+
+    @Test
+    public void testSameAsListSlidingWindows()
+    {
+        for (int n = 0; n < 12; n++)
+        {
+            List<Integer> input = TestUtils.createList(n);
+            for (int windowSize = 1; windowSize < 6; windowSize++)
+            {
+                for (int stepSize = 1; stepSize < 8; stepSize++)
+                {
+                    List<List<Integer>> expected =
+                        ListSlidingWindows.<Integer>createClosedSlidingWindow(
+                            input, windowSize, stepSize)
+                        .collect(Collectors.toList());
+                    List<List<Integer>> actual =
+                        StreamSlidingWindows.<Integer>createClosedSlidingWindow(
+                            input.iterator(), windowSize, stepSize)
+                        .map(ArrayList::new)
+                        .collect(Collectors.toList());
+                    assertEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnboundedStream()
+    {
+        Stream<Integer> input = Stream.iterate(0, i -> i + 1);
+        List<List<Integer>> actual =
+            StreamSlidingWindows.<Integer>createClosedSlidingWindow(
+                input, 3, 2)
+            .limit(3)
+            .map(ArrayList::new)
+            .collect(Collectors.toList());
+        List<List<Integer>> expected = new ArrayList<List<Integer>>();
+        expected.add(IntStream.of(0, 1, 2).boxed()
+            .collect(Collectors.toList()));
+        expected.add(IntStream.of(2, 3, 4).boxed()
+            .collect(Collectors.toList()));
+        expected.add(IntStream.of(4, 5, 6).boxed()
+            .collect(Collectors.toList()));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testStaleWindowError()
+    {
+        List<List<Integer>> windows =
+            StreamSlidingWindows.<Integer>createClosedSlidingWindow(
+                TestUtils.createList(10).iterator(), 3, 1)
+            .collect(Collectors.toList());
+        exception.expect(ConcurrentModificationException.class);
+        windows.get(0).get(0);
+    }
+
+    @Test
+    public void testHasNextKeepsCurrentWindow()
+    {
+        Iterator<List<Integer>> iterator = 
+            StreamSlidingWindows.createSlidingWindowIterator(
+                TestUtils.createList(5).iterator(), 3, 1);
+        List<Integer> window = iterator.next();
+        assertTrue(iterator.hasNext());
+        assertTrue(iterator.hasNext());
+        assertEquals(Arrays.asList(0, 1, 2), window);
+        List<Integer> next = iterator.next();
+        assertEquals(Arrays.asList(1, 2, 3), next);
+        assertTrue(iterator.hasNext());
+        assertEquals(Arrays.asList(1, 2, 3), next);
+    }
+
+    @Test
+    public void testParallel()
+    {
+        List<Integer> input = TestUtils.createList(1000);
+        List<List<Integer>> expected =
+            ListSlidingWindows.<Integer>createClosedSlidingWindow(
+                input, 7, 3)
+            .collect(Collectors.toList());
+        List<List<Integer>> actual =
+            StreamSlidingWindows.<Integer>createClosedSlidingWindow(
+                input.stream(), 7, 3)
+            .parallel()
+            .map(ArrayList<Integer>::new)
+            .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * www.javagl.de - Sampling
+ *
+ * Copyright (c) 2013-2018 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.sampling.list;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for the {@link TimeSeriesSplitting} class
+ */
+@SuppressWarnings("javadoc")
+public class TestTimeSeriesSplitting
+{
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testNegativeGapError()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        exception.expect(IllegalArgumentException.class);
+        TimeSeriesSplitting.createRollingSplits(input, 3, 2, -1, 1);
+    }
+    
+    @Test
+    public void testExpandingSplits()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<TrainTestSplit<Integer>> splits = 
+            TimeSeriesSplitting.<Integer>createExpandingSplits(
+                input, 3, 2, 1, 2)
+            .collect(Collectors.toList());
+        assertEquals(3, splits.size());
+        assertEquals(Arrays.asList(0, 1, 2), splits.get(0).getTraining());
+        assertEquals(Arrays.asList(4, 5), splits.get(0).getTesting());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), 
+            splits.get(2).getTraining());
+        assertEquals(Arrays.asList(8, 9), splits.get(2).getTesting());
+    }
+    
+    @Test
+    public void testRollingSplits()
+    {
+        List<Integer> input = TestUtils.createList(10);
+        List<TrainTestSplit<Integer>> splits = 
+            TimeSeriesSplitting.<Integer>createRollingSplits(
+                input, 3, 2, 1, 2)
+            .collect(Collectors.toList());
+        assertEquals(3, splits.size());
+        assertEquals(Arrays.asList(2, 3, 4), splits.get(1).getTraining());
+        assertEquals(Arrays.asList(6, 7), splits.get(1).getTesting());
+        
+        long count = TimeSeriesSplitting.createRollingSplits(
+            input, 8, 2, 1, 1).count();
+        assertEquals(0, count);
+    }
+    
+    @Test
+    public void testParallel()
+    {
+        List<Integer> input = TestUtils.createList(10000);
+        Spliterator<TrainTestSplit<Integer>> spliterator = 
+            TimeSeriesSplitting.<Integer>createRollingSplits(
+                input, 100, 10, 5, 7).spliterator();
+        assertEquals((10000 - 115) / 7 + 1, 
+            spliterator.getExactSizeIfKnown());
+        
+        List<Integer> sequential = 
+            TimeSeriesSplitting.<Integer>createExpandingSplits(
+                input, 100, 10, 5, 7)
+            .map(s -> s.getTesting().get(0))
+            .collect(Collectors.toList());
+        List<Integer> parallel = 
+            TimeSeriesSplitting.<Integer>createExpandingSplits(
+                input, 100, 10, 5, 7)
+            .parallel()
+            .map(s -> s.getTesting().get(0))
+            .collect(Collectors.toList());
+        assertEquals(sequential, parallel);
+    }
+
+}